@@ -0,0 +1,76 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.dialogs.Condition;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures evaluation of a single {@link Condition} for each {@link Condition.Operator}, with both literal and placeholder values.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ConditionBenchmark {
+
+    @Param
+    public Condition.Operator operator;
+
+    private Player player;
+
+    private PlaceholderResolver resolver;
+
+    private Condition literal;
+
+    private Condition placeholder;
+
+    @Setup
+    public void setup() {
+        this.player = Stubs.player("Notch", new LongAdder());
+        // Every placeholder resolves to the same number, so both numeric and string operators can be tested.
+        this.resolver = Stubs.resolver("42");
+        this.literal = new Condition("%player_ping%", operator, "40");
+        this.placeholder = new Condition("%player_ping%", operator, "%player_level%");
+    }
+
+    @Benchmark
+    public boolean literal() {
+        return literal.testCondition(player, resolver);
+    }
+
+    @Benchmark
+    public boolean placeholder() {
+        return placeholder.testCondition(player, resolver);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.dialogs.elements.AnimationFrames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of animation frames for texts of various lengths.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FrameGenerationBenchmark {
+
+    @Param({ "16", "64", "256" })
+    public int length;
+
+    private String value;
+
+    private AnimationFrames frames;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder("<gold>Somebody<dark_gray>: <white>");
+        // Appending text until desired length is reached. Tags are added every now and then, as it would be in real dialogs.
+        for (int i = 0; i < length; i++)
+            builder.append((i % 32 == 31) ? "<gray>" : "").append((char) ('a' + (i % 26)));
+        // ...
+        this.value = builder.toString();
+        this.frames = AnimationFrames.generate(value, 2, 3);
+    }
+
+    @Benchmark
+    public AnimationFrames generate() {
+        return AnimationFrames.generate(value, 2, 3);
+    }
+
+    @Benchmark
+    public void materialize(final Blackhole blackhole) {
+        for (int i = 0; i < frames.size(); i++)
+            blackhole.consume(frames.get(i));
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.bedrock.components.Message;
+import cloud.grabsky.dialogs.elements.AnimationFrames;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures sending the same animation frame to many recipients within a single tick, with and without re-using the frame {@link Message}.
+ * <p>
+ * Stubbed recipients serialize each received component to JSON, as the server does for every recipient. Results therefore include the actual
+ * serialization cost, which is paid in both cases, and not just the cost of materializing and wrapping the frame.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FrameSendBenchmark {
+
+    @Param({ "1", "50", "500" })
+    public int recipients;
+
+    private Player[] players;
+
+    private AnimationFrames frames;
+
+    @Setup
+    public void setup() {
+        final LongAdder calls = new LongAdder();
+        final LongAdder serialized = new LongAdder();
+        // ...
+        this.players = new Player[recipients];
+        // ...
+        for (int i = 0; i < recipients; i++)
+            players[i] = Stubs.player("Player" + i, calls, serialized);
+        // ...
+        this.frames = AnimationFrames.generate("<gold>Somebody<dark_gray>: <white>Welcome to the city, <bold>stranger</bold>... Here, take this... may come in handy...", 2, 3);
+    }
+
+    @Benchmark
+    public void uncached() {
+        final int frame = frames.size() / 2;
+        // Preparing the frame separately for each recipient.
+        for (final Player player : players)
+            Message.of(frames.get(frame)).sendActionBar(player);
+    }
+
+    @Benchmark
+    public void cached() {
+        final int frame = frames.size() / 2;
+        // Re-using message of the frame, which is created once and shared between all recipients.
+        for (final Player player : players)
+            frames.message(frame).sendActionBar(player);
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.dialogs.elements.AnimatedActionBarElement;
+import cloud.grabsky.dialogs.elements.AnimationFrames;
+import cloud.grabsky.dialogs.playback.SoundBatch;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the per-frame path of an animated action bar, as executed by the playback engine for each cursor: getting message of the current frame,
+ * queuing the typing sound and moving onto the next frame. A single invocation represents one tick.
+ * <p>
+ * Path is expected to be allocation-free once all frames have been displayed at least once, meaning {@code gc.alloc.rate.norm} reported by the {@code gc} profiler should be close to {@code 0 B/op}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FrameTickBenchmark {
+
+    @Param({ "1", "500" })
+    public int recipients;
+
+    private Player[] players;
+
+    private AnimatedActionBarElement element;
+
+    // Frames of the element. Fetched once, just like cursors do when animation starts.
+    private AnimationFrames frames;
+
+    // Index of the next frame of each recipient.
+    private int[] cursors;
+
+    private final SoundBatch sounds = new SoundBatch();
+
+    @Setup
+    public void setup() {
+        final LongAdder calls = new LongAdder();
+        // ...
+        this.players = new Player[recipients];
+        this.cursors = new int[recipients];
+        // ...
+        for (int i = 0; i < recipients; i++) {
+            players[i] = Stubs.player("Player" + i, calls);
+            // Spreading recipients across different frames.
+            cursors[i] = i;
+        }
+        // ...
+        this.element = new AnimatedActionBarElement(
+                AnimatedActionBarElement.AudienceType.PLAYER,
+                "<gold>Somebody<dark_gray>: <white>Welcome to the city, <bold>stranger</bold>... Here, take this... may come in handy...",
+                1L, 2, 3,
+                Sound.sound(Key.key("block.note_block.hat"), Sound.Source.MASTER, 1.0f, 1.5f),
+                true, 200, List.of()
+        );
+        // ...
+        this.frames = element.frames();
+        // Displaying all frames once, as it would happen during the first play.
+        for (int i = 0; i < frames.size(); i++)
+            frames.message(i);
+    }
+
+    @Benchmark
+    public void tick(final Blackhole blackhole) {
+        for (int i = 0; i < players.length; i++) {
+            final int frame = cursors[i] % frames.size();
+            // Getting message of the current frame.
+            blackhole.consume(frames.message(frame));
+            // Queuing the typing sound.
+            if (frame < frames.size() - 1 && element.hasTypingSound() == true)
+                sounds.add(element.typingSound(), players[i]);
+            // Moving onto the next frame.
+            cursors[i] = frame + 1;
+        }
+        // Discarding queued sounds, as it would be done at the end of the tick. Sounds are not played, as stubbed recipients allocate on each call.
+        sounds.clear();
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.configuration.adapter.AbstractEnumJsonAdapter;
+import cloud.grabsky.configuration.paper.adapter.ComponentAdapter;
+import cloud.grabsky.configuration.paper.adapter.NamespacedKeyAdapter;
+import cloud.grabsky.configuration.paper.adapter.SoundAdapterFactory;
+import cloud.grabsky.configuration.paper.adapter.SoundSourceAdapter;
+import cloud.grabsky.dialogs.Condition;
+import cloud.grabsky.dialogs.Dialog;
+import cloud.grabsky.dialogs.configuration.adapter.ConditionAdapterFactory;
+import cloud.grabsky.dialogs.configuration.adapter.DialogElementAdapterFactory;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import okio.Buffer;
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of dialog files using the {@link DialogElementAdapterFactory}. Parsing is set up the same way as in the {@code DialogsLoader}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+    /**
+     * Size of the parsed file. Either {@code example} for the default {@code example.json} file, or number of generated dialogs.
+     */
+    @Param({ "example", "100", "1000" })
+    public String size;
+
+    private byte[] contents;
+
+    private JsonAdapter<Map<String, Dialog>> adapter;
+
+    // Elements of a single generated dialog. Covers all commonly used element types.
+    private static final String GENERATED_ELEMENTS = """
+            [
+                { "type": "actionbar_animation", "value": "<gold>Somebody<dark_gray>: <white>Welcome to the city, stranger...", "ticks_to_wait_before_continuing": 80 },
+                { "type": "console_command", "value": "minecraft:give %player_name% minecraft:iron_sword 1" },
+                { "type": "chat_message", "value": "<gold>Stranger<gray> gave <gold>%player_name%<gray> an old, rusty <white>Iron Sword<gray>..." },
+                { "type": "chat_message", "value": "Ping: <green>%player_ping%", "conditions": [ { "placeholder": "%player_ping%", "operator": "smaller_than", "value": "60" } ] },
+                { "type": "pause", "ticks_to_wait_before_continuing": 20 }
+            ]
+            """;
+
+    @Setup
+    public void setup() throws IOException {
+        final Moshi moshi = new Moshi.Builder()
+                .add(NamespacedKey.class, NamespacedKeyAdapter.INSTANCE)
+                .add(Sound.Source.class, SoundSourceAdapter.INSTANCE)
+                .add(Component.class, ComponentAdapter.INSTANCE)
+                .add(DialogElementAdapterFactory.INSTANCE)
+                .add(ConditionAdapterFactory.INSTANCE)
+                .add(SoundAdapterFactory.INSTANCE)
+                .add(Condition.Operator.class, new AbstractEnumJsonAdapter<>(Condition.Operator.class, false) {})
+                .add(Dialog.ConditionEvaluation.class, new AbstractEnumJsonAdapter<>(Dialog.ConditionEvaluation.class, false) {})
+                .build();
+        // ...
+        this.adapter = moshi.<Map<String, Dialog>>adapter(Types.newParameterizedType(Map.class, String.class, Dialog.class)).lenient();
+        // Reading the default file from plugin resources.
+        if (size.equals("example") == true) {
+            try (final InputStream stream = ParsingBenchmark.class.getClassLoader().getResourceAsStream("example.json")) {
+                this.contents = stream.readAllBytes();
+            }
+            return;
+        }
+        // Generating file with specified number of dialogs.
+        final StringBuilder builder = new StringBuilder("{");
+        // ...
+        for (int i = 0; i < Integer.parseInt(size); i++)
+            builder.append((i == 0) ? "" : ",").append("\"dialog_").append(i).append("\": { \"elements\": ").append(GENERATED_ELEMENTS).append("}");
+        // ...
+        this.contents = builder.append("}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Dialog> parse() throws IOException {
+        return adapter.fromJson(new Buffer().write(contents));
+    }
+
+}
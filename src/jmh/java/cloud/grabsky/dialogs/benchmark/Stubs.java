@@ -0,0 +1,98 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stubbed server-side objects used by benchmarks. Stubs do not require a running server.
+ */
+public final class Stubs {
+
+    private Stubs() { /* UTILITY */ }
+
+    /**
+     * Returns a stubbed {@link Player}. Every method call is counted by specified counter and returns default value of it's return type.
+     */
+    public static @NotNull Player player(final @NotNull String name, final @NotNull LongAdder calls) {
+        return player(name, calls, null);
+    }
+
+    /**
+     * Returns a stubbed {@link Player}. Every method call is counted by specified counter and returns default value of it's return type.
+     * <p>
+     * Components sent as chat messages or action bars are serialized to JSON, just like the server does before sending them over the network.
+     * Length of each serialized component is added to specified counter, so the work cannot be optimized away.
+     */
+    public static @NotNull Player player(final @NotNull String name, final @NotNull LongAdder calls, final @Nullable LongAdder serialized) {
+        final UUID uniqueId = UUID.nameUUIDFromBytes(name.getBytes());
+        // Creating a proxy that implements all methods of the Player interface.
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] { Player.class }, (proxy, method, arguments) -> {
+            calls.increment();
+            // Serializing sent components, if requested.
+            if (serialized != null && arguments != null && arguments.length > 0 && arguments[0] instanceof Component component && (method.getName().equals("sendMessage") == true || method.getName().equals("sendActionBar") == true))
+                serialized.add(GsonComponentSerializer.gson().serialize(component).length());
+            // Returning values of the most commonly used methods.
+            return switch (method.getName()) {
+                case "getName" -> name;
+                case "getUniqueId" -> uniqueId;
+                case "isConnected", "isOnline" -> true;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == arguments[0];
+                case "toString" -> "Player[" + name + "]";
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    /**
+     * Returns a stubbed {@link PlaceholderResolver}, which resolves all placeholders to specified value.
+     */
+    public static @NotNull PlaceholderResolver resolver(final @NotNull String value) {
+        return (player, text) -> (text.indexOf('%') != -1) ? value : text;
+    }
+
+    private static Object defaultValue(final @NotNull Class<?> type) {
+        if (type.isPrimitive() == false || type == void.class)
+            return null;
+        if (type == boolean.class)
+            return false;
+        if (type == char.class)
+            return '\0';
+        if (type == float.class)
+            return 0.0f;
+        if (type == double.class)
+            return 0.0d;
+        if (type == long.class)
+            return 0L;
+        if (type == short.class)
+            return (short) 0;
+        if (type == byte.class)
+            return (byte) 0;
+        // ...
+        return 0;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.benchmark;
+
+import cloud.grabsky.dialogs.Condition;
+import cloud.grabsky.dialogs.Dialog;
+import cloud.grabsky.dialogs.DialogElement;
+import cloud.grabsky.dialogs.elements.AnimatedActionBarElement;
+import cloud.grabsky.dialogs.elements.CommandElement;
+import cloud.grabsky.dialogs.elements.MessageElement;
+import cloud.grabsky.dialogs.elements.PauseElement;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures work done when a dialog is triggered: compiling the timeline (first trigger only) and evaluating conditions of all elements (every trigger).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TimelineBenchmark {
+
+    @Param({ "4", "32", "256" })
+    public int elements;
+
+    private List<DialogElement> list;
+
+    private Dialog dialog;
+
+    private Player player;
+
+    private PlaceholderResolver resolver;
+
+    @Setup
+    public void setup() {
+        final List<Condition> conditions = List.of(new Condition("%player_ping%", Condition.Operator.SMALLER_THAN, "60"));
+        // Creating elements of various types, some of them with conditions.
+        this.list = new ArrayList<>(elements);
+        // ...
+        for (int i = 0; i < elements; i++) {
+            list.add(switch (i % 4) {
+                case 0 -> new AnimatedActionBarElement(AnimatedActionBarElement.AudienceType.PLAYER, "<gold>Somebody<dark_gray>: <white>Welcome...", 2, 2, 3, null, true, 40, List.of());
+                case 1 -> new MessageElement(MessageElement.Type.CHAT_MESSAGE, MessageElement.AudienceType.PLAYER, "Ping: <green>%player_ping%", 1, conditions);
+                case 2 -> new CommandElement(CommandElement.Type.CONSOLE_COMMAND, List.of("say %player_name%"), 1, conditions);
+                default -> new PauseElement(20, List.of());
+            });
+        }
+        this.dialog = new Dialog(list);
+        this.dialog.timeline();
+        this.player = Stubs.player("Notch", new LongAdder());
+        this.resolver = Stubs.resolver("42");
+    }
+
+    @Benchmark
+    public Dialog.Timeline compile() {
+        return new Dialog(list).timeline();
+    }
+
+    @Benchmark
+    public BitSet evaluate() {
+        final Dialog.Timeline timeline = dialog.timeline();
+        // Marking elements which conditions are not met, the same way as PlaybackEngine does.
+        BitSet skipped = null;
+        // ...
+        for (int i = 0; i < timeline.length(); i++) {
+            if (Condition.testAll(timeline.conditions()[i], player, resolver) == false) {
+                if (skipped == null)
+                    skipped = new BitSet(timeline.length());
+                skipped.set(i);
+            }
+        }
+        return skipped;
+    }
+
+}
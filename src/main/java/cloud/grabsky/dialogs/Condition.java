@@ -1,16 +1,17 @@
 package cloud.grabsky.dialogs;
 
-import me.clip.placeholderapi.PlaceholderAPI;
+import cloud.grabsky.configuration.util.LazyInit;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
 import org.bukkit.entity.Player;
 
+import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
 
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
 public final class Condition {
 
     @Getter(AccessLevel.PUBLIC)
@@ -22,50 +23,89 @@ public final class Condition {
     @Getter(AccessLevel.PUBLIC)
     private final String value;
 
-    public boolean testCondition(final @NotNull Player player) {
-        final String parsedPlaceholder = PlaceholderAPI.setPlaceholders(player, placeholder);
-        final String parsedValue = PlaceholderAPI.setPlaceholders(player, value);
-        return switch (operator) {
-            case EQUALS -> parsedPlaceholder.equals(parsedValue);
-            case NOT_EQUALS -> parsedPlaceholder.equals(parsedValue) == false;
-            case GREATER_THAN, GREATER_THAN_OR_EQUALS, SMALLER_THAN, SMALLER_THAN_OR_EQUALS -> {
-                // Parsing values to Double.
-                final Double a = toDouble(parsedPlaceholder);
-                final Double b = toDouble(parsedValue);
-                // Returning false if first value is not a number.
-                if (a == null) {
-                    Dialogs.getInstance().getLogger().warning("Tried to compare placeholder '" + placeholder + "' but output is not a number: '" + parsedPlaceholder + "'");
-                    yield false;
-                }
-                // Returning false if second value is not a number.
-                if (b == null) {
-                    Dialogs.getInstance().getLogger().warning("Tried to compare placeholder '" + placeholder + "' but expected value is not a number: '" + parsedValue + "'");
-                    yield false;
-                }
-                // Comparing numbers based on the specified operator and returning the result.
-                if (operator == Operator.GREATER_THAN)
-                    yield a > b;
-                if (operator == Operator.GREATER_THAN_OR_EQUALS)
-                    yield a >= b;
-                if (operator == Operator.SMALLER_THAN)
-                    yield a < b;
-                if (operator == Operator.SMALLER_THAN_OR_EQUALS)
-                    yield a <= b;
-                // In any other case, false is returned.
-                yield false;
-            }
-            case CONTAINS -> parsedPlaceholder.contains(parsedValue);
-            case NOT_CONTAINS -> parsedPlaceholder.contains(parsedValue) == false;
-            case STARTS_WITH -> parsedPlaceholder.startsWith(parsedValue);
-            case ENDS_WITH -> parsedPlaceholder.endsWith(parsedValue);
+    // Whether value contains no placeholders and can be compared as-is.
+    private final transient boolean isLiteral;
+
+    // Value parsed to a number, ahead of time. Equals to NaN if value is not a literal OR is not a number.
+    private final transient double literalNumber;
+
+    // Predicate specialized for the operator of this condition.
+    private final transient Predicate predicate;
+
+    public Condition(final @NotNull String placeholder, final @NotNull Operator operator, final @NotNull String value) {
+        this.placeholder = placeholder;
+        this.operator = operator;
+        this.value = value;
+        // Value is considered a literal when it does not contain any placeholders.
+        this.isLiteral = (value.indexOf('%') == -1);
+        // Parsing literal value to a number, so it does not have to be done on each evaluation.
+        this.literalNumber = (isLiteral == true) ? toDouble(value) : Double.NaN;
+        // Selecting predicate for the operator.
+        this.predicate = switch (operator) {
+            case EQUALS -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.equals(condition.parseValue(player, resolver));
+            case NOT_EQUALS -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.equals(condition.parseValue(player, resolver)) == false;
+            case GREATER_THAN -> (condition, player, resolver, parsedPlaceholder) -> condition.compare(player, resolver, parsedPlaceholder) > 0;
+            case GREATER_THAN_OR_EQUALS -> (condition, player, resolver, parsedPlaceholder) -> condition.compare(player, resolver, parsedPlaceholder) >= 0;
+            case SMALLER_THAN -> (condition, player, resolver, parsedPlaceholder) -> condition.compare(player, resolver, parsedPlaceholder) < 0;
+            case SMALLER_THAN_OR_EQUALS -> (condition, player, resolver, parsedPlaceholder) -> condition.compare(player, resolver, parsedPlaceholder) <= 0;
+            case CONTAINS -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.contains(condition.parseValue(player, resolver));
+            case NOT_CONTAINS -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.contains(condition.parseValue(player, resolver)) == false;
+            case STARTS_WITH -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.startsWith(condition.parseValue(player, resolver));
+            case ENDS_WITH -> (condition, player, resolver, parsedPlaceholder) -> parsedPlaceholder.endsWith(condition.parseValue(player, resolver));
         };
     }
 
-    private @Nullable Double toDouble(final String string) {
+    public boolean testCondition(final @NotNull Player player) {
+        return testCondition(player, PlaceholderResolver.DIRECT);
+    }
+
+    /**
+     * Returns {@code true} if this condition is met. Placeholders are set using specified {@link PlaceholderResolver}.
+     */
+    public boolean testCondition(final @NotNull Player player, final @NotNull PlaceholderResolver resolver) {
+        return predicate.test(this, player, resolver, resolver.resolve(player, placeholder));
+    }
+
+    /**
+     * Returns {@code true} if all specified conditions are met. Empty array is always met.
+     */
+    public static boolean testAll(final @NotNull Condition[] conditions, final @NotNull Player player, final @NotNull PlaceholderResolver resolver) {
+        for (final Condition condition : conditions)
+            if (condition.testCondition(player, resolver) == false)
+                return false;
+        // All conditions were met.
+        return true;
+    }
+
+    // Returns value with placeholders set. Literal values are returned as-is.
+    private @NotNull String parseValue(final @NotNull Player player, final @NotNull PlaceholderResolver resolver) {
+        return (isLiteral == true) ? value : resolver.resolve(player, value);
+    }
+
+    // Compares placeholder with the value numerically. Returns NaN if any of them is not a number, which makes all comparisons false.
+    private double compare(final @NotNull Player player, final @NotNull PlaceholderResolver resolver, final @NotNull String parsedPlaceholder) {
+        // Parsing values to double.
+        final double a = toDouble(parsedPlaceholder);
+        final double b = (isLiteral == true) ? literalNumber : toDouble(resolver.resolve(player, value));
+        // Returning NaN if first value is not a number.
+        if (Double.isNaN(a) == true) {
+            Dialogs.getInstance().getLogger().warning("Tried to compare placeholder '" + placeholder + "' but output is not a number: '" + parsedPlaceholder + "'");
+            return Double.NaN;
+        }
+        // Returning NaN if second value is not a number.
+        if (Double.isNaN(b) == true) {
+            Dialogs.getInstance().getLogger().warning("Tried to compare placeholder '" + placeholder + "' but expected value is not a number: '" + parseValue(player, resolver) + "'");
+            return Double.NaN;
+        }
+        // Returning the difference. Sign of the result is what matters.
+        return (a > b) ? 1 : (a < b) ? -1 : 0;
+    }
+
+    private static double toDouble(final @NotNull String string) {
         try {
             return Double.parseDouble(string);
         } catch (final NumberFormatException ___) {
-            return null;
+            return Double.NaN;
         }
     }
 
@@ -82,4 +122,37 @@ public final class Condition {
         ENDS_WITH
     }
 
+    @FunctionalInterface
+    private interface Predicate {
+        boolean test(final @NotNull Condition condition, final @NotNull Player player, final @NotNull PlaceholderResolver resolver, final @NotNull String parsedPlaceholder);
+    }
+
+
+    @Internal
+    @RequiredArgsConstructor(access = AccessLevel.PUBLIC)
+    // NOTE: Field names does not follow Java Naming Convention to provide 1:1 mapping with JSON keys.
+    public static final class Init implements LazyInit<Condition> {
+
+        // Nullability cannot be determined because it depends entirely on the end-user.
+        public @UnknownNullability String placeholder;
+        public @UnknownNullability Operator operator;
+        public @UnknownNullability String value;
+
+        @Override
+        public @NotNull Condition init() throws IllegalStateException {
+            // Throwing an error in case "placeholder" field is invalid.
+            if (placeholder == null)
+                throw new IllegalStateException("Field \"placeholder\" is required but is either null or has not been found.");
+            // Throwing an error in case "operator" field is invalid.
+            if (operator == null)
+                throw new IllegalStateException("Field \"operator\" is required but is either null or has not been found.");
+            // Throwing an error in case "value" field is invalid.
+            if (value == null)
+                throw new IllegalStateException("Field \"value\" is required but is either null or has not been found.");
+            // Creating and returning condition. Value is compiled ahead of time.
+            return new Condition(placeholder, operator, value);
+        }
+
+    }
+
 }
@@ -14,159 +14,139 @@
  */
 package cloud.grabsky.dialogs;
 
-import cloud.grabsky.bedrock.components.Message;
-import cloud.grabsky.dialogs.elements.AnimatedActionBarElement;
-import cloud.grabsky.dialogs.elements.CommandElement;
-import cloud.grabsky.dialogs.elements.MessageElement;
-import cloud.grabsky.dialogs.elements.PauseElement;
-import cloud.grabsky.dialogs.elements.SoundElement;
-import me.clip.placeholderapi.PlaceholderAPI;
-import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
+import com.squareup.moshi.Json;
 import org.bukkit.entity.Player;
-import org.bukkit.metadata.FixedMetadataValue;
 
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
-import java.util.UUID;
 
+import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 
-@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
 public final class Dialog implements Collection<DialogElement> {
 
     private static final Dialogs plugin = Dialogs.getInstance();
 
-    private static final String LAST_DIALOG_KEY = "last_dialog";
-
     @Delegate @Getter(AccessLevel.PUBLIC)
     private final Collection<DialogElement> elements;
 
+    // Can be omitted or defined as null by the end-user, in which case the default is used.
+    @Json(name = "condition_evaluation")
+    private final @Nullable ConditionEvaluation conditionEvaluation;
+
+    // Identifier assigned by the loader. Null for dialogs that were not loaded from a file.
+    private transient volatile @Nullable String identifier;
+
+    // Compiled form of this dialog, used by the playback engine. Created lazily, as instances are also constructed reflectively by Moshi.
+    private transient volatile Timeline timeline;
+
+    public Dialog(final @NotNull Collection<DialogElement> elements) {
+        this(elements, ConditionEvaluation.ON_TRIGGER);
+    }
+
+    public Dialog(final @NotNull Collection<DialogElement> elements, final @NotNull ConditionEvaluation conditionEvaluation) {
+        this.elements = elements;
+        this.conditionEvaluation = conditionEvaluation;
+    }
+
+    /**
+     * Returns moment at which conditions of elements of this {@link Dialog} are evaluated.
+     */
+    public @NotNull ConditionEvaluation getConditionEvaluation() {
+        return (conditionEvaluation != null) ? conditionEvaluation : ConditionEvaluation.ON_TRIGGER;
+    }
+
+    /**
+     * Returns identifier of this {@link Dialog}, in {@code file/name} format. Returns {@code null} if this dialog has not been loaded from a file.
+     */
+    public @Nullable String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Assigns identifier to this {@link Dialog}. Called by the loader.
+     */
+    @Internal
+    public void setIdentifier(final @Nullable String identifier) {
+        this.identifier = identifier;
+        // Forgetting compiled timeline, as it contains the identifier.
+        this.timeline = null;
+    }
+
+    /**
+     * Starts playing this {@link Dialog} for specified {@link Player}. Any dialog that is already being played for that player is going to be cancelled.
+     */
     public void trigger(final @NotNull Player target) {
-        final String dialogIdentifier = UUID.randomUUID().toString();
-        // Updating dialog.
-        target.setMetadata(LAST_DIALOG_KEY, new FixedMetadataValue(plugin, dialogIdentifier));
-        // Used to calculate when next queued task should be started.
-        long nextTaskStartsIn = 0;
-        // Iterating over all elements in this Dialog and scheduling to display them.
-        for (final DialogElement element : elements) {
-
-            // Skipping execution of the element in case any of the conditions is not met.
-            if (element.conditions().isEmpty() == false && element.conditions().stream().anyMatch(condition -> condition.testCondition(target) == false) == true) {
-                // Calculating "start" time of the next element. Additionally, refresh rate value is added as to prevent elements from overlapping.
-                nextTaskStartsIn += element.ticksToWait();
-                // Continuing...
-                continue;
-            }
-
-            if (element instanceof AnimatedActionBarElement animatedActionBar) {
-                final Iterator<Component> frames = animatedActionBar.frames().iterator();
-                // Scheduling a new asynchronous repeat task.
-                plugin.getBedrockScheduler().repeatAsync(nextTaskStartsIn, animatedActionBar.refreshRate(), element.ticksToWait() / animatedActionBar.refreshRate(), (iteration) -> {
-                    // Cancelling task in case Player connection has been reset OR other dialog has been started in the meanwhile.
-                    if (isDialogStillValid(target, dialogIdentifier) == false)
-                        return false;
-                    // Preparing the message Component.
-                    final Component component = (frames.hasNext() == true)
-                            ? frames.next()
-                            : (animatedActionBar.lockUntilNextElement() == true)
-                                    ? animatedActionBar.lastFrame()
-                                    : null;
-                    // Currently only action bar messages can be "animated".
-                    Message.of(component).sendActionBar(target);
-                    // Playing the animation sound.
-                    if (frames.hasNext() == true && animatedActionBar.typingSound() != null && animatedActionBar.typingSound().volume() > 0.0f)
-                        target.playSound(animatedActionBar.typingSound());
-                    // Continuing... Should be cancelled automatically when max iterations is reached.
-                    return true;
-                });
-                // Calculating "start" time of the next element. Additionally, refresh rate value is added as to prevent elements from overlapping.
-                nextTaskStartsIn += element.ticksToWait() + animatedActionBar.refreshRate();
-            }
-
-            else if (element instanceof MessageElement messageElement) {
-                // Parsing the message, setting placeholders if supported.
-                final Message.StringMessage message = (Dialogs.isPlaceholderAPI() == true)
-                        ? Message.of(PlaceholderAPI.setPlaceholders(target, messageElement.value()))
-                        : Message.of(messageElement.value());
-                // Scheduling a new asynchronous run task.
-                plugin.getBedrockScheduler().runAsync(nextTaskStartsIn, (task) -> {
-                    // Cancelling task in case Player connection has been reset OR other dialog has been started in the meanwhile.
-                    if (isDialogStillValid(target, dialogIdentifier) == false)
-                        return;
-                    // Getting the message audience type.
-                    final MessageElement.AudienceType audience = messageElement.audience();
-                    // Getting the actual audience.
-                    final Audience actualAudience = switch (audience) {
-                        case PLAYER -> target;
-                        case CONSOLE -> Bukkit.getConsoleSender();
-                        case SERVER -> Bukkit.getServer();
-                    };
-                    // Getting the message type.
-                    final MessageElement.Type type = messageElement.type();
-                    // Sending message based in specific type.
-                    switch (type) {
-                        case CHAT_MESSAGE -> message.send(actualAudience);
-                        case ACTIONBAR_MESSAGE -> message.sendActionBar(actualAudience);
-                    }
-                });
-                // Calculating "start" time of the next element.
-                nextTaskStartsIn += element.ticksToWait();
-            }
-
-            else if (element instanceof CommandElement commandElement) {
-                // Scheduling a new run task. Command dispatch have to be called on the main thread.
-                plugin.getBedrockScheduler().run(nextTaskStartsIn, (task) -> {
-                    // Cancelling task in case Player connection has been reset OR other dialog has been started in the meanwhile.
-                    if (isDialogStillValid(target, dialogIdentifier) == false)
-                        return;
-                    // Setting placeholders in commands.
-                    final List<String> commands = (Dialogs.isPlaceholderAPI() == true)
-                            ? commandElement.value().stream().map(command -> PlaceholderAPI.setPlaceholders(target, command)).toList()
-                            : commandElement.value();
-                    // Getting the command sender.
-                    final CommandSender sender = (commandElement.type() == CommandElement.Type.PLAYER_COMMAND) ? target : plugin.getServer().getConsoleSender();
-                    // Dispatching commands.
-                    commands.forEach(command -> plugin.getServer().dispatchCommand(sender, command));
-                });
-                // Calculating "start" time of the next element.
-                nextTaskStartsIn += element.ticksToWait();
-            }
-
-            else if (element instanceof SoundElement soundElement) {
-                // Scheduling a new run task. Command dispatch have to be called on the main thread.
-                plugin.getBedrockScheduler().run(nextTaskStartsIn, (task) -> {
-                    // Cancelling task in case Player connection has been reset OR other dialog has been started in the meanwhile.
-                    if (isDialogStillValid(target, dialogIdentifier) == false)
-                        return;
-                    // Getting the audience.
-                    final Audience audience = (soundElement.audience() == SoundElement.AudienceType.PLAYER) ? target : plugin.getServer();
-                    // Playing sounds.
-                    soundElement.value().forEach(audience::playSound);
-                });
-                // Calculating "start" time of the next element.
-                nextTaskStartsIn += element.ticksToWait();
-            }
-
-            else if (element instanceof PauseElement pauseElement) {
-                // Calculating "start" time of the next element.
-                nextTaskStartsIn += element.ticksToWait();
-            }
+        plugin.getPlaybackEngine().play(this, target);
+    }
 
+    /**
+     * Starts playing this {@link Dialog} for each of specified {@link Player Players}. Any dialog that is already being played for any of these players is going to be cancelled.
+     * <p>
+     * Behaves the same as calling {@link #trigger(Player)} for each player, but is considerably cheaper for larger groups of players.
+     */
+    public void trigger(final @NotNull Collection<? extends Player> targets) {
+        plugin.getPlaybackEngine().play(this, targets);
+    }
+
+    /**
+     * Returns compiled {@link Timeline} of this {@link Dialog}.
+     */
+    @Internal
+    public @NotNull Timeline timeline() {
+        Timeline timeline = this.timeline;
+        // Compiling the timeline in case it has not been compiled yet.
+        if (timeline == null) {
+            final DialogElement[] elements = this.elements.toArray(DialogElement[]::new);
+            final Condition[][] conditions = new Condition[elements.length][];
+            // Flattening conditions of each element to an array.
+            for (int i = 0; i < elements.length; i++)
+                conditions[i] = elements[i].conditions().toArray(Condition[]::new);
+            // ...
+            this.timeline = timeline = new Timeline(identifier, elements, conditions);
         }
+        // Returning the timeline.
+        return timeline;
+    }
+
+    /**
+     * Defines moment at which conditions of elements are evaluated.
+     */
+    public enum ConditionEvaluation {
+
+        /**
+         * Conditions of all elements are evaluated at once, when the dialog is triggered. Evaluation always happens on the main thread, as soon as triggered dialog is picked up by the playback engine.
+         */
+        ON_TRIGGER,
+
+        /**
+         * Conditions of each element are evaluated right before that element is executed.
+         */
+        ON_EXECUTION;
+
     }
 
-    // Returns false in case Player connection has been reset OR other dialog has been started in the meanwhile.
-    private static boolean isDialogStillValid(final @NotNull Player target, final @NotNull String dialogIdentifier) {
-        return target.isConnected() == true && (target.getMetadata(LAST_DIALOG_KEY).isEmpty() == true || target.getMetadata(LAST_DIALOG_KEY).get(0).asString().equalsIgnoreCase(dialogIdentifier) == true);
+    /**
+     * Compiled, array-based form of a {@link Dialog}. Arrays must not be modified.
+     *
+     * @param identifier Identifier of the dialog. Null if dialog has not been loaded from a file.
+     * @param elements Elements of the dialog.
+     * @param conditions Conditions of each element, indexed the same way as elements.
+     */
+    @Internal
+    public record Timeline(@Nullable String identifier, @NotNull DialogElement[] elements, @NotNull Condition[][] conditions) {
+
+        /**
+         * Returns number of elements in this timeline.
+         */
+        public int length() {
+            return elements.length;
+        }
+
     }
 
 }
@@ -21,13 +21,29 @@ import cloud.grabsky.configuration.ConfigurationMapper;
 import cloud.grabsky.configuration.exception.ConfigurationMappingException;
 import cloud.grabsky.configuration.paper.PaperConfigurationMapper;
 import cloud.grabsky.dialogs.command.DialogsCommand;
+import cloud.grabsky.dialogs.configuration.PluginConfig;
 import cloud.grabsky.dialogs.configuration.PluginLocale;
+import cloud.grabsky.dialogs.elements.FrameCache;
 import cloud.grabsky.dialogs.loader.DialogsLoader;
+import cloud.grabsky.dialogs.loader.DialogsWatcher;
+import cloud.grabsky.dialogs.metrics.DialogsEvents;
+import cloud.grabsky.dialogs.metrics.DialogsMetrics;
+import cloud.grabsky.dialogs.placeholder.PlaceholderCache;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+import cloud.grabsky.dialogs.playback.PlaybackEngine;
 import de.oliver.fancyanalytics.api.FancyAnalyticsAPI;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -45,6 +61,17 @@ public final class Dialogs extends BedrockPlugin implements Listener {
     @Getter(AccessLevel.PUBLIC)
     private DialogsLoader dialogsLoader;
 
+    private @Nullable DialogsWatcher dialogsWatcher;
+
+    @Getter(AccessLevel.PUBLIC)
+    private DialogsMetrics metrics;
+
+    @Getter(AccessLevel.PUBLIC)
+    private PlaceholderCache placeholderCache;
+
+    @Getter(AccessLevel.PUBLIC)
+    private PlaybackEngine playbackEngine;
+
     private ConfigurationMapper mapper;
 
     @Override
@@ -61,6 +88,17 @@ public final class Dialogs extends BedrockPlugin implements Listener {
         // ...
         this.dialogsLoader = new DialogsLoader(this);
         // ...
+        this.metrics = new DialogsMetrics();
+        // Placeholders that are not cached are resolved directly. Time spent resolving them is recorded.
+        this.placeholderCache = new PlaceholderCache(metrics.timed(PlaceholderResolver.DIRECT));
+        // ...
+        this.playbackEngine = new PlaybackEngine(this);
+        // ...
+        this.metrics.setActiveDialogs(playbackEngine::getActiveCount);
+        this.metrics.setCommandQueueDepth(playbackEngine.getCommandQueue()::size);
+        // Starting the tick loop responsible for playing all triggered dialogs.
+        this.playbackEngine.start();
+        // ...
         this.mapper = PaperConfigurationMapper.create();
         // ...
         if (this.onReload() == false)
@@ -79,15 +117,35 @@ public final class Dialogs extends BedrockPlugin implements Listener {
         analytics.initialize();
     }
 
+    @Override
+    public void onDisable() {
+        super.onDisable();
+        // Stopping the watcher, if running.
+        if (dialogsWatcher != null)
+            dialogsWatcher.stop();
+        // Shutting down the loader. Dialogs that are being loaded asynchronously are discarded.
+        if (dialogsLoader != null)
+            dialogsLoader.shutdown();
+        // Stopping the tick loop. Dialogs that are still being played are discarded.
+        if (playbackEngine != null)
+            playbackEngine.stop();
+        // Unregistering Flight Recorder events, so they do not outlive the plugin.
+        DialogsEvents.setEnabled(false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
+        // Stopping the dialog and cleaning up the session.
+        playbackEngine.invalidate(event.getPlayer().getUniqueId());
+        // Forgetting placeholders cached for this player.
+        placeholderCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
     @Override
     public boolean onReload() {
         try {
-            // Ensuring configuration file(s) exist.
-            final File locale = ensureResourceExistence(this, new File(this.getDataFolder(), "locale.json"));
-            // Mapping configuration file(s).
-            mapper.map(
-                    ConfigurationHolder.of(PluginLocale.class, locale)
-            );
+            // Reloading configuration.
+            this.reloadConfiguration();
             // Returning the result of DialogsLoader#load method as to know whether plugin has reloaded successfully or not.
             return this.dialogsLoader.load();
         } catch (final ConfigurationMappingException | IllegalStateException | IOException e) {
@@ -98,4 +156,57 @@ public final class Dialogs extends BedrockPlugin implements Listener {
         }
     }
 
+    /**
+     * Reloads the plugin without blocking the calling thread while dialogs are being loaded. Configuration is still reloaded on the calling thread.
+     * Returned future completes with {@code true} if plugin has been reloaded successfully, or {@code false} otherwise.
+     */
+    public @NotNull CompletableFuture<Boolean> onReloadAsync() {
+        try {
+            // Reloading configuration.
+            this.reloadConfiguration();
+        } catch (final ConfigurationMappingException | IllegalStateException | IOException e) {
+            this.getLogger().severe("An error occurred while trying to reload the plugin.");
+            this.getLogger().severe("  " + e.getMessage());
+            // Returning false, as plugin has failed to reload.
+            return CompletableFuture.completedFuture(false);
+        }
+        // Loading dialogs asynchronously. Previously loaded dialogs stay in use until loading is complete.
+        return this.dialogsLoader.loadAsync().exceptionally(thrown -> {
+            final Throwable cause = (thrown instanceof CompletionException && thrown.getCause() != null) ? thrown.getCause() : thrown;
+            // ...
+            this.getLogger().severe("An error occurred while trying to reload the plugin.");
+            this.getLogger().severe("  " + cause.getMessage());
+            // Returning false, as plugin has failed to reload.
+            return false;
+        });
+    }
+
+    // Reloads configuration file(s) and applies them to plugin components.
+    private void reloadConfiguration() throws ConfigurationMappingException, IOException {
+        // Ensuring configuration file(s) exist.
+        final File config = ensureResourceExistence(this, new File(this.getDataFolder(), "config.json"));
+        final File locale = ensureResourceExistence(this, new File(this.getDataFolder(), "locale.json"));
+        // Mapping configuration file(s).
+        mapper.map(
+                ConfigurationHolder.of(PluginConfig.class, config),
+                ConfigurationHolder.of(PluginLocale.class, locale)
+        );
+        // Applying placeholder cache rules. This also invalidates everything that has been cached so far.
+        placeholderCache.configure(PluginConfig.PLACEHOLDER_CACHE_TIME_TO_LIVE, PluginConfig.PLACEHOLDER_CACHE_MAX_ENTRIES_PER_PLAYER);
+        // Applying frame cache limit. This also invalidates frames of elements that are about to be replaced.
+        FrameCache.INSTANCE.configure(PluginConfig.FRAME_CACHE_MAX_ENTRIES);
+        // Applying command dispatch budget.
+        playbackEngine.getCommandQueue().configure(PluginConfig.COMMAND_QUEUE_MAX_COMMANDS_PER_TICK, (long) (PluginConfig.COMMAND_QUEUE_MAX_TIME_PER_TICK * 1_000_000.0));
+        // Registering or unregistering Flight Recorder events.
+        DialogsEvents.setEnabled(PluginConfig.FLIGHT_RECORDER_ENABLED);
+        // Stopping the watcher, in case it has been started before.
+        if (dialogsWatcher != null)
+            dialogsWatcher.stop();
+        // Starting a new watcher, if enabled. Directory must exist before it can be watched, and may not be created yet on the first start.
+        this.dialogsWatcher = (PluginConfig.DIALOGS_WATCHER_ENABLED == true) ? new DialogsWatcher(this, dialogsLoader.ensureDirectory(), PluginConfig.DIALOGS_WATCHER_DEBOUNCE) : null;
+        // ...
+        if (dialogsWatcher != null)
+            dialogsWatcher.start();
+    }
+
 }
@@ -28,9 +28,19 @@ import cloud.grabsky.commands.exception.MissingInputException;
 import cloud.grabsky.dialogs.Dialog;
 import cloud.grabsky.dialogs.Dialogs;
 import cloud.grabsky.dialogs.configuration.PluginLocale;
+import cloud.grabsky.dialogs.elements.FrameCache;
+import cloud.grabsky.dialogs.metrics.DialogsMetrics;
+import cloud.grabsky.dialogs.metrics.Histogram;
+import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jetbrains.annotations.NotNull;
@@ -51,13 +61,23 @@ public final class DialogsCommand extends RootCommand {
         return null;
     };
 
+    private static final String ALL_PLAYERS_SELECTOR = "@a";
+    private static final String WORLD_SELECTOR_PREFIX = "world:";
+    private static final String PERMISSION_SELECTOR_PREFIX = "permission:";
+
+    // Maximum number of dialog identifiers suggested at once.
+    private static final int MAX_DIALOG_COMPLETIONS = 100;
+
+    // Maximum number of dialogs listed by "/dialogs stats" command.
+    private static final int MAX_STATS_DIALOGS = 5;
+
     @Override
     public @NotNull CompletionsProvider onTabComplete(@NotNull final RootCommandContext context, final int index) throws CommandLogicException {
         final CommandSender sender = context.getExecutor().asCommandSender();
         final RootCommandInput input = context.getInput();
         // Returning list of sub-commands when no argument was specified in the input.
         if (index == 0) return CompletionsProvider.of(
-                Stream.of("reload", "send")
+                Stream.of("reload", "send", "stats")
                         .filter(literal -> sender.hasPermission(this.getPermission() + "." + literal) == true)
                         .toList()
         );
@@ -69,8 +89,16 @@ public final class DialogsCommand extends RootCommand {
         // Returning sub-command-aware completions provider.
         return switch (literal) {
             case "send" -> switch (index) {
-                case 1 -> CompletionsProvider.of(Player.class);
-                case 2 -> CompletionsProvider.of(plugin.getDialogsLoader().getDialogs().keySet());
+                case 1 -> CompletionsProvider.of(
+                        Stream.of(
+                                Stream.of(ALL_PLAYERS_SELECTOR, PERMISSION_SELECTOR_PREFIX),
+                                plugin.getServer().getWorlds().stream().map(world -> WORLD_SELECTOR_PREFIX + world.getName()),
+                                plugin.getServer().getOnlinePlayers().stream().map(Player::getName)
+                        ).flatMap(it -> it).toList()
+                );
+                case 2 -> CompletionsProvider.of(
+                        plugin.getDialogsLoader().getRegistry().index().complete((input.length() > index + 1) ? input.at(index + 1) : "", MAX_DIALOG_COMPLETIONS)
+                );
                 default -> CompletionsProvider.EMPTY;
             };
             default -> CompletionsProvider.EMPTY;
@@ -93,9 +121,13 @@ public final class DialogsCommand extends RootCommand {
             // Handling "/dialogs reload" command...
             case "reload" -> {
                 if (sender.hasPermission(this.getPermission() + ".reload") == true) {
-                    final boolean isSuccess = plugin.onReload();
-                    // Sending message to the sender.
-                    Message.of(isSuccess == true ? PluginLocale.COMMAND_DIALOGS_RELOAD_SUCCESS : PluginLocale.COMMAND_DIALOGS_RELOAD_FAILURE).send(sender);
+                    // Reloading the plugin. Dialogs are loaded asynchronously, so the main thread is not blocked in the meanwhile.
+                    plugin.onReloadAsync().thenAccept(isSuccess -> {
+                        // Sending message to the sender. This is done on the main thread.
+                        plugin.getBedrockScheduler().run(1L, (task) -> {
+                            Message.of(isSuccess == true ? PluginLocale.COMMAND_DIALOGS_RELOAD_SUCCESS : PluginLocale.COMMAND_DIALOGS_RELOAD_FAILURE).send(sender);
+                        });
+                    });
                     return;
                 }
                 // Sending error message to the sender.
@@ -104,7 +136,7 @@ public final class DialogsCommand extends RootCommand {
             // Handling "/dialogs send (...)" command...
             case "send" -> {
                 if (sender.hasPermission(this.getPermission() + ".send") == true) {
-                    final Player target = arguments.next(Player.class).asRequired(DIALOGS_SEND_USAGE);
+                    final String selector = arguments.next(String.class).asRequired(DIALOGS_SEND_USAGE);
                     final String dialogIdentifier = arguments.next(String.class).asRequired(DIALOGS_SEND_USAGE);
                     // Getting dialog from specified identifier.
                     final @Nullable Dialog dialog = plugin.getDialogsLoader().getDialogs().get(dialogIdentifier);
@@ -113,8 +145,58 @@ public final class DialogsCommand extends RootCommand {
                         Message.of(PluginLocale.COMMAND_DIALOGS_SEND_FAILURE_NOT_FOUND).placeholder("input", dialogIdentifier).send(sender);
                         return;
                     }
-                    // Triggering Dialog on specified target.
-                    dialog.trigger(target);
+                    // Getting players matching specified selector.
+                    final Collection<? extends Player> targets = this.select(selector);
+                    // Sending error message in case no player matches the selector.
+                    if (targets.isEmpty() == true) {
+                        Message.of(PluginLocale.COMMAND_DIALOGS_SEND_FAILURE_NO_TARGETS).placeholder("input", selector).send(sender);
+                        return;
+                    }
+                    // Triggering Dialog on specified target(s). Timeline is shared between all of them.
+                    if (targets.size() == 1)
+                        dialog.trigger(targets.iterator().next());
+                    else dialog.trigger(targets);
+                    return;
+                }
+                // Sending error message to the sender.
+                Message.of(PluginLocale.MISSING_PERMISSIONS).send(sender);
+            }
+            // Handling "/dialogs stats" command...
+            case "stats" -> {
+                if (sender.hasPermission(this.getPermission() + ".stats") == true) {
+                    final DialogsMetrics metrics = plugin.getMetrics();
+                    // Getting the number of triggers of each dialog.
+                    final Map<String, Long> triggers = metrics.getTriggers();
+                    // Sending statistics to the sender.
+                    Message.of(PluginLocale.COMMAND_DIALOGS_STATS)
+                            .placeholder("active_dialogs", metrics.getActiveDialogs())
+                            .placeholder("triggers", triggers.values().stream().mapToLong(Long::longValue).sum())
+                            .placeholder("top_dialogs", triggers.entrySet().stream()
+                                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                                    .limit(MAX_STATS_DIALOGS)
+                                    .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+                                    .collect(Collectors.joining(", ")))
+                            .placeholder("elements", metrics.getElementsExecuted().entrySet().stream()
+                                    .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+                                    .collect(Collectors.joining(", ")))
+                            .placeholder("conditions_evaluated", metrics.getConditionsEvaluated())
+                            .placeholder("elements_skipped", metrics.getElementsSkipped())
+                            .placeholder("scheduling_lag", format(metrics.getSchedulingLag()))
+                            .placeholder("frames_skipped", metrics.getFramesSkipped())
+                            .placeholder("command_dispatch_count", metrics.getCommandDispatch().getCount())
+                            .placeholder("command_dispatch_avg", format(metrics.getCommandDispatch().getAverageMicros()))
+                            .placeholder("command_dispatch_max", format(metrics.getCommandDispatch().getMaxMicros()))
+                            .placeholder("command_queue_depth", metrics.getCommandQueueDepth())
+                            .placeholder("commands_deferred", metrics.getCommandsDeferred())
+                            .placeholder("command_delay", format(metrics.getCommandDelay()))
+                            .placeholder("placeholder_resolution_count", metrics.getPlaceholderResolution().getCount())
+                            .placeholder("placeholder_resolution_avg", format(metrics.getPlaceholderResolution().getAverageMicros()))
+                            .placeholder("placeholder_resolution_max", format(metrics.getPlaceholderResolution().getMaxMicros()))
+                            .placeholder("placeholder_cache_hits", plugin.getPlaceholderCache().getHits())
+                            .placeholder("placeholder_cache_misses", plugin.getPlaceholderCache().getMisses())
+                            .placeholder("frame_cache_hits", FrameCache.INSTANCE.getHits())
+                            .placeholder("frame_cache_misses", FrameCache.INSTANCE.getMisses())
+                            .send(sender);
                     return;
                 }
                 // Sending error message to the sender.
@@ -124,5 +206,53 @@ public final class DialogsCommand extends RootCommand {
             default -> Message.of(PluginLocale.COMMAND_DIALOGS_USAGE).send(sender);
         }
     }
-}
 
+    // Formats specified duration (in microseconds) to be displayed to the user.
+    private static @NotNull String format(final double micros) {
+        return String.format(Locale.ROOT, "%.1fµs", micros);
+    }
+
+    // Formats non-empty buckets of specified histogram to be displayed to the user. Values are in ticks.
+    private static @NotNull String format(final @NotNull Histogram histogram) {
+        final long[] counts = histogram.getCounts();
+        final StringBuilder builder = new StringBuilder();
+        // Iterating over each bucket and appending it, unless empty.
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0)
+                continue;
+            // ...
+            if (builder.isEmpty() == false)
+                builder.append(", ");
+            // Last bucket counts all values above it's lower bound.
+            final String range = (i == 0) ? "0t" : (i == counts.length - 1) ? histogram.getLowerBound(i) + "t+" : histogram.getLowerBound(i) + "-" + (histogram.getLowerBound(i + 1) - 1) + "t";
+            // ...
+            builder.append(range).append(" (").append(counts[i]).append(")");
+        }
+        // ...
+        return builder.toString();
+    }
+
+    // Returns online players matching specified selector. Selector can be either a player name, "@a", "world:<name>" or "permission:<node>".
+    private @NotNull Collection<? extends Player> select(final @NotNull String selector) {
+        // Selecting all online players.
+        if (selector.equalsIgnoreCase(ALL_PLAYERS_SELECTOR) == true)
+            return plugin.getServer().getOnlinePlayers();
+        // Selecting players in specified world.
+        if (selector.startsWith(WORLD_SELECTOR_PREFIX) == true) {
+            final @Nullable World world = plugin.getServer().getWorld(selector.substring(WORLD_SELECTOR_PREFIX.length()));
+            // ...
+            return (world != null) ? world.getPlayers() : Collections.emptyList();
+        }
+        // Selecting players with specified permission.
+        if (selector.startsWith(PERMISSION_SELECTOR_PREFIX) == true) {
+            final String permission = selector.substring(PERMISSION_SELECTOR_PREFIX.length());
+            // ...
+            return plugin.getServer().getOnlinePlayers().stream().filter(player -> player.hasPermission(permission) == true).toList();
+        }
+        // Selecting a single player by name.
+        final @Nullable Player player = plugin.getServer().getPlayerExact(selector);
+        // ...
+        return (player != null) ? List.of(player) : Collections.emptyList();
+    }
+
+}
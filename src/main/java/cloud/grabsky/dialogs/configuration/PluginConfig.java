@@ -0,0 +1,58 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.configuration;
+
+import cloud.grabsky.configuration.JsonConfiguration;
+import cloud.grabsky.configuration.JsonPath;
+
+import java.util.Map;
+
+public final class PluginConfig implements JsonConfiguration {
+
+    // Placeholder Cache
+
+    @JsonPath("placeholder_cache.max_entries_per_player")
+    public static Integer PLACEHOLDER_CACHE_MAX_ENTRIES_PER_PLAYER;
+
+    @JsonPath("placeholder_cache.time_to_live")
+    public static Map<String, Long> PLACEHOLDER_CACHE_TIME_TO_LIVE;
+
+    // Frame Cache
+
+    @JsonPath("frame_cache.max_entries")
+    public static Integer FRAME_CACHE_MAX_ENTRIES;
+
+    // Dialogs Watcher
+
+    @JsonPath("dialogs_watcher.enabled")
+    public static Boolean DIALOGS_WATCHER_ENABLED;
+
+    @JsonPath("dialogs_watcher.debounce")
+    public static Long DIALOGS_WATCHER_DEBOUNCE;
+
+    // Command Queue
+
+    @JsonPath("command_queue.max_commands_per_tick")
+    public static Integer COMMAND_QUEUE_MAX_COMMANDS_PER_TICK;
+
+    @JsonPath("command_queue.max_time_per_tick")
+    public static Double COMMAND_QUEUE_MAX_TIME_PER_TICK;
+
+    // Flight Recorder
+
+    @JsonPath("flight_recorder.enabled")
+    public static Boolean FLIGHT_RECORDER_ENABLED;
+
+}
@@ -46,4 +46,12 @@ public final class PluginLocale implements JsonConfiguration {
     @JsonPath("commands.dialogs_send_failure_not_found")
     public static String COMMAND_DIALOGS_SEND_FAILURE_NOT_FOUND;
 
+    @JsonPath("commands.dialogs_send_failure_no_targets")
+    public static String COMMAND_DIALOGS_SEND_FAILURE_NO_TARGETS;
+
+    // Commands > Dialogs > Stats
+
+    @JsonPath("commands.dialogs_stats")
+    public static String COMMAND_DIALOGS_STATS;
+
 }
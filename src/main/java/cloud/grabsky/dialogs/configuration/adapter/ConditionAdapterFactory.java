@@ -0,0 +1,82 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.configuration.adapter;
+
+import cloud.grabsky.dialogs.Condition;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonReader;
+import com.squareup.moshi.JsonWriter;
+import com.squareup.moshi.Moshi;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import static com.squareup.moshi.Types.getRawType;
+
+/**
+ * Creates {@link Condition} instances through their constructor, meaning conditions are compiled once, at load time.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConditionAdapterFactory implements JsonAdapter.Factory {
+    /* SINGLETON */ public static ConditionAdapterFactory INSTANCE = new ConditionAdapterFactory();
+
+    @Override
+    public @Nullable JsonAdapter<Condition> create(final @NotNull Type type, final @NotNull Set<? extends Annotation> annotations, final @NotNull Moshi moshi) {
+        if (Condition.class.isAssignableFrom(getRawType(type)) == false)
+            return null;
+        // ...
+        final var adapter0 = moshi.adapter(Condition.Operator.class);
+        // ...
+        return new JsonAdapter<>() {
+
+            @Override
+            public @NotNull Condition fromJson(final @NotNull JsonReader in) throws IOException {
+                final Condition.Init init = new Condition.Init();
+                // Beginning the JSON object.
+                in.beginObject();
+                // ...
+                while (in.hasNext() == true) {
+                    final String name = in.nextName().toLowerCase();
+                    // ...
+                    switch (name) {
+                        case "placeholder" -> init.placeholder = in.nextString();
+                        case "operator" -> init.operator = adapter0.nullSafe().fromJson(in);
+                        case "value" -> init.value = in.nextString();
+                        default -> in.skipValue();
+                    }
+                }
+                // Ending the JSON object.
+                in.endObject();
+                // Initializing and returning the value.
+                return init.init();
+            }
+
+            @Override
+            public void toJson(final @Nullable JsonWriter out, final @Nullable Condition value) {
+                throw new UnsupportedOperationException("NOT_IMPLEMENTED");
+            }
+
+        };
+    }
+
+}
@@ -19,15 +19,10 @@ import cloud.grabsky.dialogs.Condition;
 import cloud.grabsky.dialogs.DialogElement;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
-import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
-import java.util.regex.Pattern;
 
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
@@ -41,8 +36,6 @@ import lombok.experimental.Accessors;
 @Accessors(fluent = true)
 public final class AnimatedActionBarElement implements DialogElement.Animated {
 
-    private static final Pattern TAG_PATTERN = Pattern.compile("(?=<)|(?<=>)");
-
     public AnimatedActionBarElement(
             final @NotNull AudienceType audience,
             final @NotNull String value,
@@ -63,42 +56,8 @@ public final class AnimatedActionBarElement implements DialogElement.Animated {
         this.lockUntilNextElement = lockUntilNextElement;
         this.ticksToWait = ticksToWait;
         this.conditions = conditions;
-        // ...
-        final ArrayList<Component> frames = new ArrayList<>();
-        // ...
-        final Random random = new Random();
-        // Iterating over splitted dialog, with all MiniMessage tags removed.
-        final Iterator<String> iterator = TAG_PATTERN.splitAsStream(value).map(String::new).iterator();
-        // ...
-        final StringBuilder builder = new StringBuilder();
-        // ...
-        while (iterator.hasNext() == true) {
-            // ...
-            final String currentPart = iterator.next();
-            // ...
-            if (MiniMessage.miniMessage().stripTags(currentPart).isEmpty() == true) {
-                frames.add(MiniMessage.miniMessage().deserialize(builder + currentPart).compact());
-                // ...
-                builder.append(currentPart);
-                // ...
-                continue;
-            }
-            // Normal text...
-            int num = (minLettersPerFrame < maxLettersPerFrame) ? random.nextInt(minLettersPerFrame, maxLettersPerFrame) : maxLettersPerFrame;
-            // ...
-            int charsProcessed = 0;
-            // ...
-            while (charsProcessed < currentPart.length()) {
-                final String currentPartRandomized = currentPart.substring(charsProcessed, Math.min(currentPart.length(), charsProcessed + num));
-                // ...
-                frames.add(MiniMessage.miniMessage().deserialize(builder + currentPartRandomized).compact());
-                // ...
-                builder.append(currentPartRandomized);
-                charsProcessed += num;
-            }
-        }
-        // ...
-        this.frames = frames;
+        // Determining ahead of time whether typing sound should be played, so it does not have to be checked on each frame.
+        this.hasTypingSound = (typingSound != null && typingSound.volume() > 0.0f);
     }
 
     /**
@@ -130,8 +89,23 @@ public final class AnimatedActionBarElement implements DialogElement.Animated {
     @Getter(AccessLevel.PUBLIC)
     private final boolean lockUntilNextElement;
 
-    @Getter(AccessLevel.PUBLIC)
-    private transient final List<Component> frames;
+    // Whether typing sound is defined and is audible.
+    private final transient boolean hasTypingSound;
+
+    /**
+     * Returns {@code true} if typing sound is defined and is audible.
+     */
+    public boolean hasTypingSound() {
+        return hasTypingSound;
+    }
+
+    /**
+     * Returns animation frames of this element. Frames are generated on first use and cached in the {@link FrameCache}.
+     */
+    @Override
+    public @NotNull AnimationFrames frames() {
+        return FrameCache.INSTANCE.get(this);
+    }
 
     @Getter(AccessLevel.PUBLIC)
     private final int ticksToWait;
@@ -0,0 +1,176 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.elements;
+
+import cloud.grabsky.bedrock.components.Message;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compact, read-only list of typing animation frames. Instead of storing a separate {@link Component} tree for each frame, only the
+ * last (complete) frame is stored along with number of visible characters of each frame. Frames are materialized when requested.
+ */
+@Internal
+public final class AnimationFrames extends AbstractList<Component> implements RandomAccess {
+
+    private static final Pattern TAG_PATTERN = Pattern.compile("(?=<)|(?<=>)");
+
+    /**
+     * Last (complete) frame.
+     */
+    private final @NotNull Component component;
+
+    /**
+     * Number of visible characters of each frame.
+     */
+    private final int @NotNull [] cuts;
+
+    /**
+     * Number of visible characters of the last frame.
+     */
+    private final int length;
+
+    /**
+     * Messages of frames that have been displayed at least once, indexed by frame. Created on first use. Lifetime is bounded by the {@link FrameCache}
+     * entry holding these frames, meaning messages are released along with frames once the entry is evicted or invalidated.
+     */
+    private Message.ComponentMessage @Nullable [] messages;
+
+    private AnimationFrames(final @NotNull Component component, final int @NotNull [] cuts, final int length) {
+        this.component = component;
+        this.cuts = cuts;
+        this.length = length;
+    }
+
+    /**
+     * Generates typing animation frames of specified {@link MiniMessage} text. Each frame reveals between {@code minLettersPerFrame} and {@code maxLettersPerFrame} more letters than the previous one.
+     */
+    public static @NotNull AnimationFrames generate(final @NotNull String value, final int minLettersPerFrame, final int maxLettersPerFrame) {
+        final List<Integer> cuts = new ArrayList<>();
+        // Iterating over splitted dialog, with all MiniMessage tags removed.
+        final Iterator<String> iterator = TAG_PATTERN.splitAsStream(value).iterator();
+        // Number of visible characters processed so far.
+        int length = 0;
+        // ...
+        while (iterator.hasNext() == true) {
+            // ...
+            final String currentPart = iterator.next();
+            // Number of visible characters of the current part. Equals to zero for tags.
+            final int partLength = MiniMessage.miniMessage().stripTags(currentPart).length();
+            // Tags do not reveal any characters, but still produce a frame.
+            if (partLength == 0) {
+                cuts.add(length);
+                // ...
+                continue;
+            }
+            // Normal text...
+            final int num = (minLettersPerFrame < maxLettersPerFrame) ? ThreadLocalRandom.current().nextInt(minLettersPerFrame, maxLettersPerFrame) : maxLettersPerFrame;
+            // ...
+            int charsProcessed = 0;
+            // ...
+            while (charsProcessed < partLength) {
+                charsProcessed = Math.min(partLength, charsProcessed + num);
+                // ...
+                cuts.add(length + charsProcessed);
+            }
+            // ...
+            length += partLength;
+        }
+        // Parsing the whole text just once. Frames are cut from this component.
+        final Component component = MiniMessage.miniMessage().deserialize(value).compact();
+        // ...
+        return new AnimationFrames(component, cuts.stream().mapToInt(Integer::intValue).toArray(), length);
+    }
+
+    @Override
+    public @NotNull Component get(final int index) {
+        final int cut = cuts[index];
+        // Returning complete component in case all characters are visible.
+        if (cut >= length)
+            return component;
+        // Cutting the component.
+        return cut(component, new int[] { cut }).compact();
+    }
+
+    /**
+     * Returns {@link Message} of frame at specified index. Message is created when frame is displayed for the first time and stored along with the frames,
+     * meaning every subsequent display of that frame, to any recipient and during any play, is a single array read. Expected to be called from the main thread only.
+     */
+    public @NotNull Message.ComponentMessage message(final int index) {
+        @Nullable Message.ComponentMessage[] messages = this.messages;
+        // Creating the array on first use. Animations that are never displayed do not need it.
+        if (messages == null)
+            this.messages = messages = new Message.ComponentMessage[cuts.length];
+        // ...
+        @Nullable Message.ComponentMessage message = messages[index];
+        // Materializing the frame and wrapping it, unless done already.
+        if (message == null)
+            messages[index] = message = Message.of(this.get(index));
+        // ...
+        return message;
+    }
+
+    @Override
+    public int size() {
+        return cuts.length;
+    }
+
+    /**
+     * Returns number of visible characters of frame at specified index.
+     */
+    public int cutAt(final int index) {
+        return cuts[index];
+    }
+
+    // Returns copy of specified component, with visible characters limited to the remaining amount. Remaining amount is decreased by the number of characters included.
+    private static @NotNull Component cut(final @NotNull Component component, final int @NotNull [] remaining) {
+        Component result = component;
+        // Cutting text content. Other kinds of components are considered to have no visible characters.
+        if (component instanceof TextComponent text) {
+            final String content = (text.content().length() > remaining[0]) ? text.content().substring(0, remaining[0]) : text.content();
+            // ...
+            remaining[0] -= content.length();
+            // ...
+            result = text.content(content);
+        }
+        // Returning in case there are no children to process.
+        if (component.children().isEmpty() == true)
+            return result;
+        // Processing children until there are no more characters to include.
+        final List<Component> children = new ArrayList<>(component.children().size());
+        // ...
+        for (final Component child : component.children()) {
+            if (remaining[0] <= 0)
+                break;
+            children.add(cut(child, remaining));
+        }
+        // ...
+        return result.children(children);
+    }
+
+}
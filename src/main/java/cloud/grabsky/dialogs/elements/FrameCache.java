@@ -0,0 +1,158 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.elements;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thread-safe, bounded cache of {@link AnimationFrames} generated for {@link AnimatedActionBarElement AnimatedActionBarElements}.
+ * Frames are generated on first use and least recently used entries are evicted once the limit has been exceeded.
+ * <p>
+ * Each entry also holds {@link cloud.grabsky.bedrock.components.Message Messages} of frames that have been displayed, which are re-used by all subsequent displays.
+ * Limit of this cache is therefore also what bounds memory used by materialized frames.
+ */
+public final class FrameCache {
+
+    /**
+     * Cache shared by all {@link AnimatedActionBarElement AnimatedActionBarElements}.
+     */
+    public static final FrameCache INSTANCE = new FrameCache(512);
+
+    // Generated frames, keyed by element identity. Access-ordered, evicting least recently used entry first.
+    private final Entries entries = new Entries();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile int maxEntries;
+
+    private FrameCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Changes maximum number of cached entries. All cached entries are invalidated.
+     */
+    public void configure(final int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        // ...
+        this.invalidateAll();
+    }
+
+    /**
+     * Returns frames of specified element, generating them in case they're not cached.
+     */
+    @Internal
+    public @NotNull AnimationFrames get(final @NotNull AnimatedActionBarElement element) {
+        synchronized (entries) {
+            final @Nullable AnimationFrames frames = entries.get(element);
+            // ...
+            if (frames != null) {
+                hits.increment();
+                return frames;
+            }
+        }
+        misses.increment();
+        // Generating frames. This happens outside of the lock, as parsing longer texts can take a while.
+        final AnimationFrames frames = AnimationFrames.generate(element.value(), element.minLettersPerFrame(), element.maxLettersPerFrame());
+        // Caching frames. In case other thread was faster, frames generated by that thread are returned instead.
+        synchronized (entries) {
+            final @Nullable AnimationFrames existing = entries.putIfAbsent(element, frames);
+            // ...
+            return (existing != null) ? existing : frames;
+        }
+    }
+
+    /**
+     * Invalidates frames cached for specified element.
+     */
+    public void invalidate(final @NotNull AnimatedActionBarElement element) {
+        synchronized (entries) {
+            entries.remove(element);
+        }
+    }
+
+    /**
+     * Invalidates all cached frames.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns number of currently cached entries.
+     */
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns maximum number of cached entries.
+     */
+    public int getMaxSize() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns number of lookups that were served from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns number of lookups that required frames to be generated.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns number of entries that were evicted due to size limit.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Access-ordered map, evicting least recently used entry once the limit has been exceeded.
+    private final class Entries extends LinkedHashMap<AnimatedActionBarElement, AnimationFrames> {
+
+        private Entries() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final @NotNull Map.Entry<AnimatedActionBarElement, AnimationFrames> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
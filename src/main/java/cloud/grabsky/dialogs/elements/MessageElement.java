@@ -17,6 +17,7 @@ package cloud.grabsky.dialogs.elements;
 import cloud.grabsky.configuration.util.LazyInit;
 import cloud.grabsky.dialogs.Condition;
 import cloud.grabsky.dialogs.DialogElement;
+import cloud.grabsky.dialogs.placeholder.ComponentTemplate;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
 import java.util.Collections;
@@ -32,9 +33,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 
 @Accessors(fluent = true)
-@RequiredArgsConstructor(access = AccessLevel.PUBLIC)
 public final class MessageElement implements DialogElement {
 
+    public MessageElement(
+            final @NotNull Type type,
+            final @NotNull AudienceType audience,
+            final @NotNull String value,
+            final int ticksToWait,
+            final List<Condition> conditions
+    ) {
+        this.type = type;
+        this.audience = audience;
+        this.value = value;
+        this.ticksToWait = ticksToWait;
+        this.conditions = conditions;
+        // Parsing the value ahead of time. Only placeholders have to be filled when sending.
+        this.template = ComponentTemplate.compile(value);
+    }
+
     /**
      * Type to use when forwarding this instance of {@link MessageElement}.
      */
@@ -53,6 +69,12 @@ public final class MessageElement implements DialogElement {
     @Getter(AccessLevel.PUBLIC)
     private final String value;
 
+    /**
+     * Pre-parsed {@link ComponentTemplate} of the value.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final transient ComponentTemplate template;
+
     @Getter(AccessLevel.PUBLIC)
     private final int ticksToWait;
 
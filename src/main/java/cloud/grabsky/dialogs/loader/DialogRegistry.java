@@ -0,0 +1,83 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.loader;
+
+import cloud.grabsky.dialogs.Dialog;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Immutable, versioned snapshot of all loaded dialogs. New registry is created each time dialogs are (re)loaded, and published atomically.
+ * <p>
+ * Dialogs that are already being played hold a reference to the compiled form of the version they were triggered from, and keep playing it until they finish.
+ *
+ * @param version Version of this registry. Each registry published by the {@link DialogsLoader} has a higher version than the previous one.
+ * @param dialogs Dialogs, keyed by their identifiers.
+ * @param identifiersByFile Identifiers of dialogs defined inside each file, keyed by file name.
+ * @param index Prefix index of dialog identifiers, used for tab completion.
+ */
+public record DialogRegistry(long version, @UnmodifiableView @NotNull Map<String, Dialog> dialogs, @UnmodifiableView @NotNull Map<String, List<String>> identifiersByFile, @NotNull IdentifierIndex index) {
+
+    /**
+     * Empty registry, used before dialogs are loaded for the first time.
+     */
+    public static final DialogRegistry EMPTY = new DialogRegistry(0L, Map.of(), Map.of(), IdentifierIndex.EMPTY);
+
+    /**
+     * Creates a new registry of specified dialogs. Prefix index is built from identifiers of specified dialogs.
+     */
+    public DialogRegistry(final long version, final @NotNull Map<String, Dialog> dialogs, final @NotNull Map<String, List<String>> identifiersByFile) {
+        this(version, dialogs, identifiersByFile, IdentifierIndex.of(dialogs.keySet()));
+    }
+
+    /**
+     * Returns a new registry with dialogs of specified files replaced and dialogs of removed files removed. This registry is not modified.
+     *
+     * @param version Version of the new registry.
+     * @param replaced Dialogs defined inside each created or modified file, keyed by file name.
+     * @param removed Names of files that have been removed.
+     */
+    public @NotNull DialogRegistry with(final long version, final @NotNull Map<String, Map<String, Dialog>> replaced, final @NotNull Collection<String> removed) {
+        final Map<String, Dialog> dialogs = new HashMap<>(this.dialogs);
+        final Map<String, List<String>> identifiersByFile = new HashMap<>(this.identifiersByFile);
+        // Removing dialogs of files that have been removed.
+        for (final String file : removed) {
+            final @Nullable List<String> identifiers = identifiersByFile.remove(file);
+            // ...
+            if (identifiers != null)
+                identifiers.forEach(dialogs::remove);
+        }
+        // Replacing dialogs of files that have been created or modified.
+        replaced.forEach((file, fileDialogs) -> {
+            final @Nullable List<String> identifiers = identifiersByFile.put(file, List.copyOf(fileDialogs.keySet()));
+            // Removing dialogs that were previously defined inside this file.
+            if (identifiers != null)
+                identifiers.forEach(dialogs::remove);
+            // ...
+            dialogs.putAll(fileDialogs);
+        });
+        // ...
+        return new DialogRegistry(version, Collections.unmodifiableMap(dialogs), Collections.unmodifiableMap(identifiersByFile));
+    }
+
+}
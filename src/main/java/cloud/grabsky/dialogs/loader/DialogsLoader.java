@@ -22,21 +22,40 @@ import cloud.grabsky.configuration.paper.adapter.SoundSourceAdapter;
 import cloud.grabsky.dialogs.Condition;
 import cloud.grabsky.dialogs.Dialog;
 import cloud.grabsky.dialogs.Dialogs;
+import cloud.grabsky.dialogs.configuration.adapter.ConditionAdapterFactory;
 import cloud.grabsky.dialogs.configuration.adapter.DialogElementAdapterFactory;
+import cloud.grabsky.dialogs.metrics.DialogsEvents;
 import com.squareup.moshi.Moshi;
 import com.squareup.moshi.Types;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
-import okio.BufferedSource;
-import okio.Okio;
+import okio.Buffer;
 import org.bukkit.NamespacedKey;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -52,79 +71,188 @@ public final class DialogsLoader {
 
     private final @NotNull Dialogs plugin;
 
-    private final Map<String, Dialog> dialogs = new HashMap<>();
+    // Currently published registry. Replaced atomically, never modified.
+    private final AtomicReference<DialogRegistry> registry = new AtomicReference<>(DialogRegistry.EMPTY);
+
+    // Used to assign versions to published registries.
+    private final AtomicLong versions = new AtomicLong(0L);
+
+    // Executor used to load dialogs asynchronously. Single-threaded, so reloads never overlap.
+    private final ExecutorService asyncExecutor = Executors.newSingleThreadExecutor(WORKER_THREAD_FACTORY);
+
+    private final Moshi moshi = new Moshi.Builder()
+            .add(NamespacedKey.class, NamespacedKeyAdapter.INSTANCE)
+            .add(Sound.Source.class, SoundSourceAdapter.INSTANCE)
+            .add(Component.class, ComponentAdapter.INSTANCE)
+            .add(DialogElementAdapterFactory.INSTANCE)
+            .add(ConditionAdapterFactory.INSTANCE)
+            .add(SoundAdapterFactory.INSTANCE)
+            .add(Condition.Operator.class, new AbstractEnumJsonAdapter<>(Condition.Operator.class, false) {})
+            .add(Dialog.ConditionEvaluation.class, new AbstractEnumJsonAdapter<>(Dialog.ConditionEvaluation.class, false) {})
+            .build();
+
+    // Location of the compiled dialogs snapshot, relative to the plugin data folder.
+    private static final String SNAPSHOT_FILE = "cache/dialogs.bin";
 
     private static final Type ADAPTER_TYPE = Types.newParameterizedType(Map.class, String.class, Dialog.class);
 
+    // Creates daemon worker threads, so they never prevent the server from shutting down.
+    private static final ThreadFactory WORKER_THREAD_FACTORY = new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        @Override
+        public @NotNull Thread newThread(final @NotNull Runnable runnable) {
+            final Thread thread = new Thread(runnable, "Dialogs Loader #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    /**
+     * Returns currently published {@link DialogRegistry}.
+     */
+    public @NotNull DialogRegistry getRegistry() {
+        return registry.get();
+    }
+
+    /**
+     * Returns dialogs of currently published {@link DialogRegistry}. Returned map never changes; new map is published each time dialogs are (re)loaded.
+     */
     public @UnmodifiableView @NotNull Map<String, Dialog> getDialogs() {
-        return Collections.unmodifiableMap(dialogs);
+        return registry.get().dialogs();
     }
 
-    @SuppressWarnings("unchecked")
-    public boolean load() throws IOException {
+    /**
+     * Loads all dialogs asynchronously. Returned future completes with the result of {@link #load()} once the new registry has been published.
+     * Until then, previously published registry stays in use.
+     */
+    public @NotNull CompletableFuture<Boolean> loadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.load();
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        }, asyncExecutor);
+    }
+
+    /**
+     * Discards all pending asynchronous loads. Should be called when the plugin is disabled.
+     */
+    public void shutdown() {
+        asyncExecutor.shutdownNow();
+    }
+
+    /**
+     * Creates dialogs directory along with the default file, unless the directory exists already. Returns the directory.
+     */
+    public @NotNull File ensureDirectory() throws IOException {
         final File directory = new File(plugin.getDataFolder(), "dialogs");
+        // Creating directory and default file.
+        if (directory.mkdirs() == true) {
+            ensureResourceExistence(plugin, new File(directory, "example.json"));
+        }
+        return directory;
+    }
+
+    /**
+     * Loads all dialogs and publishes them as a new {@link DialogRegistry}. Previously published registry stays in use until loading is complete.
+     * Can be called from any thread.
+     */
+    public synchronized boolean load() throws IOException {
+        final long start = System.nanoTime();
+        // ...
+        final @Nullable DialogsEvents.ReloadCompleted event = DialogsEvents.reloadStarted(false);
+        // ...
         // Trying...
         try {
             // Creating directory and default file.
-            if (directory.mkdirs() == true) {
-                ensureResourceExistence(plugin, new File(directory, "example.json"));
-            }
+            final File directory = this.ensureDirectory();
             // Listing files inside the directory.
             final @Nullable File[] files = directory.listFiles();
             // Returning amd logging a message if directory is empty.
             if (files == null || files.length == 0) {
                 plugin.getLogger().info("No dialogs has been found inside " + directory + "...");
+                // Publishing an empty registry.
+                final DialogRegistry published = new DialogRegistry(versions.incrementAndGet(), Map.of(), Map.of());
+                // ...
+                registry.set(published);
+                // ...
+                if (event != null) {
+                    event.version = published.version();
+                    event.success = true;
+                    event.commit();
+                }
                 return true;
             }
-            // Creating a new instance of Moshi.
-            final Moshi moshi = new Moshi.Builder()
-                    .add(NamespacedKey.class, NamespacedKeyAdapter.INSTANCE)
-                    .add(Sound.Source.class, SoundSourceAdapter.INSTANCE)
-                    .add(Component.class, ComponentAdapter.INSTANCE)
-                    .add(DialogElementAdapterFactory.INSTANCE)
-                    .add(SoundAdapterFactory.INSTANCE)
-                    .add(Condition.Operator.class, new AbstractEnumJsonAdapter<>(Condition.Operator.class, false) {})
-                    .build();
-            // Clearing the map before populating it again.
-            dialogs.clear();
+            // Collecting JSON files. Files are sorted by name, so results are always merged in the same order.
+            final List<File> jsonFiles = Arrays.stream(files)
+                    .filter(file -> file != null && file.getName().endsWith(".json") == true)
+                    .sorted(Comparator.comparing(File::getName))
+                    .toList();
             // Total number of files that attempted to be loaded.
-            int filesTotal = 0;
+            final int filesTotal = jsonFiles.size();
             // Total number of files that were successfully loaded.
             int filesLoaded = 0;
-            // Iterating over all files inside the dialogs directory.
-            for (final File file : files) {
-                // Skipping null (?) or non-JSON files.
-                if (file == null || file.getName().endsWith(".json") == false)
-                    continue;
-                // Incrementing total number of files as we're about to attempt loading of the file.
-                filesTotal++;
-                // Another try...catch block is used here to make sure exception will interrupt loading of current file only, not all of them.
-                try {
-                    // Creating new BufferedSource instance from the file.
-                    final BufferedSource source = Okio.buffer(Okio.source(file));
-                    // Converting file contents to a result map.
-                    final @Nullable Map<String, Dialog> result = (Map<String, Dialog>) moshi.adapter(ADAPTER_TYPE).lenient().fromJson(source);
-                    // Logging error in case result ended up being null.
-                    if (result == null) {
-                        plugin.getLogger().severe("Could not load dialogs collection located inside \"" + file + "\" file.");
-                        plugin.getLogger().severe("  null");
+            // Total number of files that were loaded from the snapshot.
+            int filesCached = 0;
+            // Reading snapshot of previously loaded dialogs. Unchanged files are loaded from the snapshot instead of being parsed again.
+            final DialogsSnapshot snapshot = this.readSnapshot();
+            // Dialogs and hashes of successfully loaded files. Used to write a new snapshot.
+            final Map<String, Map<String, Dialog>> loaded = new LinkedHashMap<>();
+            final Map<String, byte[]> hashes = new HashMap<>();
+            // Dialogs of the new registry. Populated off the main thread, published once complete.
+            final Map<String, Dialog> dialogs = new HashMap<>();
+            final Map<String, List<String>> identifiersByFile = new HashMap<>();
+            // Creating a bounded pool of worker threads. Files are parsed and dialogs are compiled in parallel.
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(filesTotal, Runtime.getRuntime().availableProcessors())), WORKER_THREAD_FACTORY);
+            // ...
+            try {
+                // Submitting all files to the pool.
+                final List<Future<ParseResult>> futures = jsonFiles.stream().map(file -> executor.submit(() -> this.parse(file, snapshot))).toList();
+                // Merging results in order of submission. Errors are reported the same way and in the same order as if files were loaded one after another.
+                for (final Future<ParseResult> future : futures) {
+                    final ParseResult result = join(future);
+                    // Logging error in case file could not be loaded.
+                    if (result.dialogs() == null) {
+                        plugin.getLogger().severe("Could not load dialogs collection located inside \"" + result.file() + "\" file.");
+                        plugin.getLogger().severe("  " + result.error());
                         // Continuing to the next file...
                         continue;
                     }
-                    // Iterating over each entry collected from the file.
-                    result.forEach((name, dialog) -> {
-                        // Removing extension from the file name.
-                        final String nameWithoutExtension = file.getName().substring(0, file.getName().lastIndexOf('.')).replace(" ", "_");
-                        // Adding to the internal map.
-                        dialogs.put(nameWithoutExtension + "/" + name, dialog);
-                    });
+                    // Adding to the internal map.
+                    dialogs.putAll(result.dialogs());
+                    identifiersByFile.put(result.file().getName(), List.copyOf(result.dialogs().keySet()));
+                    // Collecting dialogs to be written to the snapshot.
+                    loaded.put(result.file().getName(), result.dialogs());
+                    hashes.put(result.file().getName(), result.hash());
                     // Incrementing number of files that were successfully loaded.
                     filesLoaded++;
-                } catch (final IOException e) {
-                    plugin.getLogger().severe("Could not load dialogs collection located inside \"" + file + "\" file.");
-                    plugin.getLogger().severe("  " + e.getMessage());
+                    // Incrementing number of files that were loaded from the snapshot.
+                    if (result.isCached() == true)
+                        filesCached++;
                 }
+            } finally {
+                executor.shutdownNow();
+            }
+            // Publishing the new registry. Readers see either the previous or the new registry, never a partially populated one.
+            final DialogRegistry published = new DialogRegistry(versions.incrementAndGet(), Collections.unmodifiableMap(dialogs), Collections.unmodifiableMap(identifiersByFile));
+            // ...
+            registry.set(published);
+            // Writing a new snapshot in case any file has been changed, added or removed. This happens asynchronously, as it's not needed until the next load.
+            if (filesCached != filesLoaded || snapshot.size() != filesLoaded)
+                plugin.getBedrockScheduler().runAsync(1L, (task) -> this.writeSnapshot(loaded, hashes));
+            // Logging the load time.
+            plugin.getLogger().info("Loaded " + dialogs.size() + " dialog(s) (version " + published.version() + ") from " + filesLoaded + " file(s) in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms. (" + filesCached + " unchanged file(s) loaded from snapshot)");
+            // ...
+            if (event != null) {
+                event.version = published.version();
+                event.files = filesLoaded;
+                event.dialogs = dialogs.size();
+                event.success = (filesTotal == filesLoaded);
+                event.commit();
             }
+            // ...
             return (filesTotal == filesLoaded);
         } catch (final IOException e) {
             plugin.getLogger().severe("An error occurred while trying to save default dialogs file.");
@@ -134,4 +262,155 @@ public final class DialogsLoader {
         return false;
     }
 
+    // Reads snapshot of previously loaded dialogs. Empty snapshot is returned in case it could not be read.
+    private @NotNull DialogsSnapshot readSnapshot() {
+        try {
+            return DialogsSnapshot.read(new File(plugin.getDataFolder(), SNAPSHOT_FILE).toPath());
+        } catch (final IOException e) {
+            plugin.getLogger().warning("Could not read dialogs snapshot. All dialogs will be parsed from JSON.");
+            plugin.getLogger().warning("  " + e.getMessage());
+            return DialogsSnapshot.empty();
+        }
+    }
+
+    // Writes snapshot of specified dialogs. Failure is not critical, as dialogs can always be parsed from JSON.
+    private void writeSnapshot(final @NotNull Map<String, Map<String, Dialog>> dialogs, final @NotNull Map<String, byte[]> hashes) {
+        try {
+            DialogsSnapshot.write(new File(plugin.getDataFolder(), SNAPSHOT_FILE).toPath(), dialogs, hashes);
+        } catch (final IOException e) {
+            plugin.getLogger().warning("Could not write dialogs snapshot.");
+            plugin.getLogger().warning("  " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-loads specified files, replacing only dialogs defined inside them. Dialogs of files that no longer exist are removed.
+     * Files are parsed on the calling thread, which is not expected to be the main thread. Changes are published as a new {@link DialogRegistry}.
+     * Synchronized with {@link #load()}, so changes are never applied on top of a registry that is being replaced in the meanwhile.
+     */
+    public synchronized void reload(final @NotNull Collection<File> files) {
+        final @Nullable DialogsEvents.ReloadCompleted event = DialogsEvents.reloadStarted(true);
+        // ...
+        final List<ParseResult> results = new ArrayList<>(files.size());
+        final List<File> removed = new ArrayList<>();
+        // Parsing files which still exist. Files are sorted by name, the same way as during full load.
+        files.stream().filter(file -> file.getName().endsWith(".json") == true).sorted(Comparator.comparing(File::getName)).forEach(file -> {
+            if (file.isFile() == false) {
+                removed.add(file);
+                return;
+            }
+            // Another try...catch block is used here to make sure exception will interrupt loading of current file only, not all of them.
+            try {
+                results.add(this.parse(file, DialogsSnapshot.empty()));
+            } catch (final RuntimeException e) {
+                results.add(new ParseResult(file, null, null, e.getMessage(), false));
+            }
+        });
+        // Returning in case there is nothing to apply.
+        if (results.isEmpty() == true && removed.isEmpty() == true)
+            return;
+        // Collecting dialogs of files that have been loaded successfully.
+        final Map<String, Map<String, Dialog>> replaced = new LinkedHashMap<>();
+        // ...
+        for (final ParseResult result : results) {
+            // Logging error in case file could not be loaded. Previously loaded dialogs of that file are kept.
+            if (result.dialogs() == null) {
+                plugin.getLogger().severe("Could not load dialogs collection located inside \"" + result.file() + "\" file.");
+                plugin.getLogger().severe("  " + result.error());
+                // Continuing to the next file...
+                continue;
+            }
+            replaced.put(result.file().getName(), result.dialogs());
+        }
+        // Names of files that have been removed.
+        final List<String> removedNames = removed.stream().map(File::getName).toList();
+        // Publishing the new registry. No other registry can be published in the meanwhile, as both loading methods hold the same lock.
+        final DialogRegistry published = registry.get().with(versions.incrementAndGet(), replaced, removedNames);
+        // ...
+        registry.set(published);
+        // ...
+        plugin.getLogger().info("Reloaded " + (results.size() + removed.size()) + " changed dialog file(s). (version " + published.version() + ")");
+        // ...
+        if (event != null) {
+            event.version = published.version();
+            event.files = results.size() + removed.size();
+            event.dialogs = published.dialogs().size();
+            event.success = (replaced.size() == results.size());
+            event.commit();
+        }
+    }
+
+    // Parses specified file and compiles all dialogs defined inside. Files which contents has not changed are decoded from the snapshot instead. Can be called from any thread. Exceptions other than IOException are propagated.
+    @SuppressWarnings("unchecked")
+    private @NotNull ParseResult parse(final @NotNull File file, final @NotNull DialogsSnapshot snapshot) {
+        try {
+            // Reading contents of the file and calculating it's hash.
+            final byte[] contents = Files.readAllBytes(file.toPath());
+            final byte[] hash = DialogsSnapshot.hash(contents);
+            // Decoding dialogs from the snapshot. Identifiers stored inside the snapshot are already prefixed with the file name.
+            final @Nullable Map<String, Dialog> cached = snapshot.get(file.getName(), hash);
+            // ...
+            if (cached != null) {
+                // Assigning identifiers and compiling dialogs ahead of time, so it does not happen on first trigger.
+                cached.forEach((identifier, dialog) -> {
+                    dialog.setIdentifier(identifier);
+                    dialog.timeline();
+                });
+                // ...
+                return new ParseResult(file, hash, cached, null, true);
+            }
+            // Converting file contents to a result map.
+            final @Nullable Map<String, Dialog> result = (Map<String, Dialog>) moshi.adapter(ADAPTER_TYPE).lenient().fromJson(new Buffer().write(contents));
+            // Returning error in case result ended up being null.
+            if (result == null)
+                return new ParseResult(file, hash, null, "null", false);
+            // Removing extension from the file name.
+            final String nameWithoutExtension = file.getName().substring(0, file.getName().lastIndexOf('.')).replace(" ", "_");
+            // Preserving order in which dialogs are defined inside the file.
+            final Map<String, Dialog> dialogs = new LinkedHashMap<>(result.size());
+            // Iterating over each entry collected from the file.
+            result.forEach((name, dialog) -> {
+                final String identifier = nameWithoutExtension + "/" + name;
+                // Assigning identifier and compiling the dialog ahead of time, so it does not happen on first trigger.
+                dialog.setIdentifier(identifier);
+                dialog.timeline();
+                // ...
+                dialogs.put(identifier, dialog);
+            });
+            // ...
+            return new ParseResult(file, hash, dialogs, null, false);
+        } catch (final IOException e) {
+            return new ParseResult(file, null, null, e.getMessage(), false);
+        }
+    }
+
+    // Waits for specified future to complete and returns it's result. Exceptions thrown by the task are re-thrown as-is.
+    private static <T> T join(final @NotNull Future<T> future) {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            // Should not happen, as tasks are not expected to throw checked exceptions.
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // ...
+            throw new IllegalStateException("Interrupted while waiting for dialogs to load.", e);
+        }
+    }
+
+    /**
+     * Result of parsing a single file. Either dialogs or error is present.
+     *
+     * @param file File that has been parsed.
+     * @param hash Hash of the file contents. Null if file could not be read.
+     * @param dialogs Dialogs defined inside the file, keyed by their identifiers. Null if file could not be loaded.
+     * @param error Error message. Null if file has been loaded successfully.
+     * @param isCached Whether dialogs have been decoded from the snapshot.
+     */
+    private record ParseResult(@NotNull File file, byte @Nullable [] hash, @Nullable Map<String, Dialog> dialogs, @Nullable String error, boolean isCached) { /* DATA */ }
+
 }
@@ -0,0 +1,414 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.loader;
+
+import cloud.grabsky.dialogs.Condition;
+import cloud.grabsky.dialogs.Dialog;
+import cloud.grabsky.dialogs.DialogElement;
+import cloud.grabsky.dialogs.elements.AnimatedActionBarElement;
+import cloud.grabsky.dialogs.elements.CommandElement;
+import cloud.grabsky.dialogs.elements.MessageElement;
+import cloud.grabsky.dialogs.elements.PauseElement;
+import cloud.grabsky.dialogs.elements.SoundElement;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compact, binary snapshot of compiled dialogs. Dialogs are stored per source file, along with a content hash of that file.
+ * Files which content has not changed since the snapshot was written can be loaded without parsing JSON again.
+ * <p>
+ * Animation frames are not part of the snapshot, as these are generated on first use anyway.
+ */
+@Internal
+public final class DialogsSnapshot {
+
+    // "DLGS" in ASCII.
+    private static final int MAGIC = 0x444C4753;
+
+    // Must be incremented each time format changes. Snapshots of other versions are discarded.
+    private static final int VERSION = 1;
+
+    // Element type tags.
+    private static final byte MESSAGE_ELEMENT = 0;
+    private static final byte ANIMATED_ACTION_BAR_ELEMENT = 1;
+    private static final byte COMMAND_ELEMENT = 2;
+    private static final byte SOUND_ELEMENT = 3;
+    private static final byte PAUSE_ELEMENT = 4;
+
+    private static final Condition.Operator[] OPERATORS = Condition.Operator.values();
+    private static final Sound.Source[] SOUND_SOURCES = Sound.Source.values();
+
+    // Encoded dialogs of each file, keyed by file name.
+    private final Map<String, Entry> entries;
+
+    private DialogsSnapshot(final @NotNull Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Returns an empty snapshot.
+     */
+    public static @NotNull DialogsSnapshot empty() {
+        return new DialogsSnapshot(Map.of());
+    }
+
+    /**
+     * Reads snapshot from specified file. Only the index is read; dialogs are decoded on request.
+     * Empty snapshot is returned in case file does not exist, is corrupted or has been written by a different version.
+     */
+    public static @NotNull DialogsSnapshot read(final @NotNull Path file) throws IOException {
+        if (Files.isRegularFile(file) == false)
+            return empty();
+        // Reading the file into a single buffer. File is not memory-mapped, as mapping would prevent it from being replaced on some platforms.
+        final ByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            // Reading until the buffer is full.
+            while (buffer.hasRemaining() == true)
+                if (channel.read(buffer) == -1)
+                    break;
+            // ...
+            buffer.flip();
+        }
+        // Reading the index.
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return empty();
+            // ...
+            final int size = buffer.getInt();
+            final Map<String, Entry> entries = new HashMap<>(size);
+            // ...
+            for (int i = 0; i < size; i++) {
+                final String name = getString(buffer);
+                final byte[] hash = new byte[buffer.getInt()];
+                buffer.get(hash);
+                // Slicing the payload, so it can be decoded later on, independently from other entries.
+                final int length = buffer.getInt();
+                final ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                // ...
+                entries.put(name, new Entry(hash, payload));
+            }
+            return new DialogsSnapshot(entries);
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return empty();
+        }
+    }
+
+    /**
+     * Returns number of files stored in this snapshot.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns hash of specified file contents.
+     */
+    public static byte @NotNull [] hash(final byte @NotNull [] contents) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contents);
+        } catch (final NoSuchAlgorithmException e) {
+            // Should never happen, as SHA-256 must be supported by every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns dialogs of specified file, or {@code null} if snapshot does not contain that file OR its contents has changed. Can be called from any thread.
+     */
+    public @Nullable Map<String, Dialog> get(final @NotNull String name, final byte @NotNull [] hash) {
+        final @Nullable Entry entry = entries.get(name);
+        // Returning null in case file is not part of the snapshot or has been changed.
+        if (entry == null || Arrays.equals(entry.hash, hash) == false)
+            return null;
+        // Decoding dialogs. Payload is duplicated, so concurrent decoding of the same entry is safe.
+        try {
+            return decodeDialogs(entry.payload.duplicate());
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes snapshot of specified files to specified file. Files containing elements that cannot be encoded are omitted.
+     * Snapshot is first written to a uniquely named temporary file, which then replaces the target file. Can be called concurrently.
+     *
+     * @param files Dialogs of each file, keyed by file name.
+     * @param hashes Hashes of each file, keyed by file name.
+     */
+    public static void write(final @NotNull Path file, final @NotNull Map<String, Map<String, Dialog>> files, final @NotNull Map<String, byte[]> hashes) throws IOException {
+        final Map<String, byte[]> payloads = new LinkedHashMap<>(files.size());
+        // Encoding dialogs of each file.
+        files.forEach((name, dialogs) -> {
+            final byte @Nullable [] hash = hashes.get(name);
+            // ...
+            if (hash != null) try {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                // ...
+                try (final DataOutputStream out = new DataOutputStream(bytes)) {
+                    encodeDialogs(out, dialogs);
+                }
+                // ...
+                payloads.put(name, bytes.toByteArray());
+            } catch (final IOException | UnsupportedOperationException ___) {
+                // File contains element(s) that cannot be encoded and will be parsed from JSON every time.
+            }
+        });
+        // Creating parent directories.
+        Files.createDirectories(file.getParent());
+        // Writing to a temporary file first. Each write uses a file with unique name, so concurrent writes never interfere with each other.
+        final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        // ...
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(payloads.size());
+            // ...
+            for (final Map.Entry<String, byte[]> entry : payloads.entrySet()) {
+                final byte[] hash = hashes.get(entry.getKey());
+                // ...
+                putString(out, entry.getKey());
+                out.writeInt(hash.length);
+                out.write(hash);
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } catch (final IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        // Replacing the target file. Snapshot written last wins, which is fine as each of them is complete and validated against file hashes when read.
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /* ENCODING */
+
+    private static void encodeDialogs(final @NotNull DataOutputStream out, final @NotNull Map<String, Dialog> dialogs) throws IOException {
+        out.writeInt(dialogs.size());
+        // ...
+        for (final Map.Entry<String, Dialog> entry : dialogs.entrySet()) {
+            putString(out, entry.getKey());
+            out.writeByte(entry.getValue().getConditionEvaluation().ordinal());
+            out.writeInt(entry.getValue().size());
+            // ...
+            for (final DialogElement element : entry.getValue())
+                encodeElement(out, element);
+        }
+    }
+
+    private static void encodeElement(final @NotNull DataOutputStream out, final @NotNull DialogElement element) throws IOException {
+        if (element instanceof MessageElement it) {
+            out.writeByte(MESSAGE_ELEMENT);
+            out.writeByte(it.type().ordinal());
+            out.writeByte(it.audience().ordinal());
+            putString(out, it.value());
+        } else if (element instanceof AnimatedActionBarElement it) {
+            out.writeByte(ANIMATED_ACTION_BAR_ELEMENT);
+            out.writeByte(it.audience().ordinal());
+            putString(out, it.value());
+            out.writeLong(it.refreshRate());
+            out.writeInt(it.minLettersPerFrame());
+            out.writeInt(it.maxLettersPerFrame());
+            out.writeBoolean(it.typingSound() != null);
+            // ...
+            if (it.typingSound() != null)
+                encodeSound(out, it.typingSound());
+            // ...
+            out.writeBoolean(it.lockUntilNextElement());
+        } else if (element instanceof CommandElement it) {
+            out.writeByte(COMMAND_ELEMENT);
+            out.writeByte(it.type().ordinal());
+            out.writeInt(it.value().size());
+            // ...
+            for (final String command : it.value())
+                putString(out, command);
+        } else if (element instanceof SoundElement it) {
+            out.writeByte(SOUND_ELEMENT);
+            out.writeByte(it.audience().ordinal());
+            out.writeInt(it.value().size());
+            // ...
+            for (final Sound sound : it.value())
+                encodeSound(out, sound);
+        } else if (element instanceof PauseElement) {
+            out.writeByte(PAUSE_ELEMENT);
+        } else {
+            // Other implementations are not supported.
+            throw new UnsupportedOperationException("Unsupported element type: " + element.getClass().getName());
+        }
+        // Writing properties common for all elements.
+        out.writeInt(element.ticksToWait());
+        out.writeInt(element.conditions().size());
+        // ...
+        for (final Condition condition : element.conditions()) {
+            putString(out, condition.getPlaceholder());
+            out.writeByte(condition.getOperator().ordinal());
+            putString(out, condition.getValue());
+        }
+    }
+
+    private static void encodeSound(final @NotNull DataOutputStream out, final @NotNull Sound sound) throws IOException {
+        putString(out, sound.name().asString());
+        out.writeByte(sound.source().ordinal());
+        out.writeFloat(sound.volume());
+        out.writeFloat(sound.pitch());
+        out.writeBoolean(sound.seed().isPresent());
+        // ...
+        if (sound.seed().isPresent() == true)
+            out.writeLong(sound.seed().getAsLong());
+    }
+
+    private static void putString(final @NotNull DataOutputStream out, final @NotNull String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /* DECODING */
+
+    private static @NotNull Map<String, Dialog> decodeDialogs(final @NotNull ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        final Map<String, Dialog> dialogs = new LinkedHashMap<>(size);
+        // ...
+        for (int i = 0; i < size; i++) {
+            final String name = getString(buffer);
+            final Dialog.ConditionEvaluation conditionEvaluation = Dialog.ConditionEvaluation.values()[buffer.get()];
+            final int length = buffer.getInt();
+            final List<DialogElement> elements = new ArrayList<>(length);
+            // ...
+            for (int j = 0; j < length; j++)
+                elements.add(decodeElement(buffer));
+            // ...
+            dialogs.put(name, new Dialog(elements, conditionEvaluation));
+        }
+        return dialogs;
+    }
+
+    private static @NotNull DialogElement decodeElement(final @NotNull ByteBuffer buffer) {
+        return switch (buffer.get()) {
+            case MESSAGE_ELEMENT -> {
+                final MessageElement.Type type = MessageElement.Type.values()[buffer.get()];
+                final MessageElement.AudienceType audience = MessageElement.AudienceType.values()[buffer.get()];
+                final String value = getString(buffer);
+                // ...
+                yield new MessageElement(type, audience, value, buffer.getInt(), decodeConditions(buffer));
+            }
+            case ANIMATED_ACTION_BAR_ELEMENT -> {
+                final AnimatedActionBarElement.AudienceType audience = AnimatedActionBarElement.AudienceType.values()[buffer.get()];
+                final String value = getString(buffer);
+                final long refreshRate = buffer.getLong();
+                final int minLettersPerFrame = buffer.getInt();
+                final int maxLettersPerFrame = buffer.getInt();
+                final @Nullable Sound typingSound = (buffer.get() != 0) ? decodeSound(buffer) : null;
+                final boolean lockUntilNextElement = (buffer.get() != 0);
+                // ...
+                yield new AnimatedActionBarElement(audience, value, refreshRate, minLettersPerFrame, maxLettersPerFrame, typingSound, lockUntilNextElement, buffer.getInt(), decodeConditions(buffer));
+            }
+            case COMMAND_ELEMENT -> {
+                final CommandElement.Type type = CommandElement.Type.values()[buffer.get()];
+                final int size = buffer.getInt();
+                final List<String> value = new ArrayList<>(size);
+                // ...
+                for (int i = 0; i < size; i++)
+                    value.add(getString(buffer));
+                // ...
+                yield new CommandElement(type, value, buffer.getInt(), decodeConditions(buffer));
+            }
+            case SOUND_ELEMENT -> {
+                final SoundElement.AudienceType audience = SoundElement.AudienceType.values()[buffer.get()];
+                final int size = buffer.getInt();
+                final List<Sound> value = new ArrayList<>(size);
+                // ...
+                for (int i = 0; i < size; i++)
+                    value.add(decodeSound(buffer));
+                // ...
+                yield new SoundElement(audience, value, buffer.getInt(), decodeConditions(buffer));
+            }
+            case PAUSE_ELEMENT -> new PauseElement(buffer.getInt(), decodeConditions(buffer));
+            // Should not happen, unless snapshot is corrupted.
+            default -> throw new IllegalArgumentException("Unknown element type.");
+        };
+    }
+
+    private static @NotNull List<Condition> decodeConditions(final @NotNull ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        // Returning shared empty list, the same way as when conditions are not defined in JSON.
+        if (size == 0)
+            return List.of();
+        // ...
+        final List<Condition> conditions = new ArrayList<>(size);
+        // ...
+        for (int i = 0; i < size; i++) {
+            final String placeholder = getString(buffer);
+            final Condition.Operator operator = OPERATORS[buffer.get()];
+            // ...
+            conditions.add(new Condition(placeholder, operator, getString(buffer)));
+        }
+        return conditions;
+    }
+
+    private static @NotNull Sound decodeSound(final @NotNull ByteBuffer buffer) {
+        final Sound.Builder builder = Sound.sound()
+                .type(Key.key(getString(buffer)))
+                .source(SOUND_SOURCES[buffer.get()])
+                .volume(buffer.getFloat())
+                .pitch(buffer.getFloat());
+        // ...
+        if (buffer.get() != 0)
+            builder.seed(buffer.getLong());
+        // ...
+        return builder.build();
+    }
+
+    private static @NotNull String getString(final @NotNull ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        // ...
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Entry(byte @NotNull [] hash, @NotNull ByteBuffer payload) { /* DATA */ }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.loader;
+
+import cloud.grabsky.dialogs.Dialogs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Watches the dialogs directory for changes and re-loads files that have been created, modified or deleted. Events are debounced,
+ * meaning files are re-loaded only after no further changes were made for a specified amount of time.
+ */
+public final class DialogsWatcher implements Runnable {
+
+    private final @NotNull Dialogs plugin;
+
+    private final @NotNull Path directory;
+
+    // Time (in milliseconds) without any further changes, after which changed files are re-loaded.
+    private final long debounce;
+
+    private @Nullable WatchService service;
+
+    private @Nullable Thread thread;
+
+    public DialogsWatcher(final @NotNull Dialogs plugin, final @NotNull File directory, final long debounce) {
+        this.plugin = plugin;
+        this.directory = directory.toPath();
+        this.debounce = Math.max(0L, debounce);
+    }
+
+    /**
+     * Starts watching the directory. Does nothing if watcher is already running.
+     */
+    public void start() throws IOException {
+        if (thread != null)
+            return;
+        // Registering the directory.
+        this.service = directory.getFileSystem().newWatchService();
+        this.directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        // Starting a new daemon thread, so it never prevents the server from shutting down.
+        this.thread = new Thread(this, "Dialogs Watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    public void stop() {
+        if (thread != null)
+            thread.interrupt();
+        // Closing the service. This also wakes up the thread if it's waiting for events.
+        try {
+            if (service != null)
+                service.close();
+        } catch (final IOException ___) { /* IGNORE */ }
+        // ...
+        this.thread = null;
+        this.service = null;
+    }
+
+    @Override
+    public void run() {
+        final WatchService service = this.service;
+        // Returning in case watcher has been stopped before the thread started.
+        if (service == null)
+            return;
+        // Files that have changed since last re-load.
+        final Set<File> changed = new LinkedHashSet<>();
+        // Whether events have been lost and all files must be re-loaded.
+        boolean isOverflow = false;
+        // ...
+        try {
+            while (Thread.currentThread().isInterrupted() == false) {
+                // Waiting for the first event indefinitely. Subsequent events are awaited for the debounce time only.
+                final @Nullable WatchKey key = (changed.isEmpty() == true && isOverflow == false) ? service.take() : service.poll(debounce, TimeUnit.MILLISECONDS);
+                // Re-loading files in case no further changes were made within the debounce time.
+                if (key == null) {
+                    // Another try...catch block is used here to make sure exception will interrupt current re-load only, and changes are still watched afterwards.
+                    try {
+                        if (isOverflow == true)
+                            this.reloadAll();
+                        else plugin.getDialogsLoader().reload(Set.copyOf(changed));
+                    } catch (final RuntimeException e) {
+                        plugin.getLogger().log(Level.SEVERE, "An error occurred while re-loading changed dialog files.", e);
+                    }
+                    // ...
+                    changed.clear();
+                    isOverflow = false;
+                    continue;
+                }
+                // Collecting changed files.
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                        isOverflow = true;
+                    else if (event.context() instanceof Path path)
+                        changed.add(directory.resolve(path).toFile());
+                }
+                // Stopping in case directory is no longer accessible.
+                if (key.reset() == false) {
+                    plugin.getLogger().warning("Directory " + directory + " is no longer accessible. Changes will no longer be watched.");
+                    return;
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ___) {
+            // Watcher has been stopped.
+        }
+    }
+
+    // Re-loads all files asynchronously, as changes may have been lost. Failures are logged, as there is nobody else waiting for the result.
+    private void reloadAll() {
+        plugin.getDialogsLoader().loadAsync().whenComplete((isSuccess, thrown) -> {
+            if (thrown != null) {
+                final Throwable cause = (thrown instanceof CompletionException && thrown.getCause() != null) ? thrown.getCause() : thrown;
+                // ...
+                plugin.getLogger().log(Level.SEVERE, "An error occurred while re-loading all dialog files after changes have been lost.", cause);
+            } else if (isSuccess == false) {
+                plugin.getLogger().warning("Some dialog files could not be re-loaded after changes have been lost. See errors above for details.");
+            }
+        });
+    }
+
+}
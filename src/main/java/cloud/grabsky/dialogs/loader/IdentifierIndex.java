@@ -0,0 +1,123 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.loader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable prefix index of dialog identifiers, backed by a sorted array. Lookups are done using binary search, which means
+ * completions are found in {@code O(log n + results)} time, without scanning all identifiers.
+ * <p>
+ * Identifiers are expected to follow the {@code file/name} format, where {@code file/} is considered a namespace.
+ */
+public final class IdentifierIndex {
+
+    /**
+     * Empty index.
+     */
+    public static final IdentifierIndex EMPTY = new IdentifierIndex(new String[0]);
+
+    private static final char NAMESPACE_SEPARATOR = '/';
+
+    // All identifiers, sorted in natural order.
+    private final String[] identifiers;
+
+    private IdentifierIndex(final String @NotNull [] identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    /**
+     * Creates index of specified identifiers.
+     */
+    public static @NotNull IdentifierIndex of(final @NotNull Collection<String> identifiers) {
+        final String[] sorted = identifiers.toArray(String[]::new);
+        // Sorting identifiers, so ones sharing the same prefix are placed next to each other.
+        Arrays.sort(sorted);
+        // ...
+        return new IdentifierIndex(sorted);
+    }
+
+    /**
+     * Returns up to {@code limit} completions of specified input. Namespaces ({@code file/}) are completed first, and identifiers
+     * are completed once input contains a namespace. Namespaces containing a single identifier are completed to that identifier straight away.
+     */
+    public @NotNull List<String> complete(final @NotNull String input, final int limit) {
+        // Completing identifiers in case input already contains a namespace.
+        if (input.indexOf(NAMESPACE_SEPARATOR) != -1)
+            return this.find(input, limit);
+        // Completing namespaces otherwise.
+        final List<String> completions = new ArrayList<>();
+        // Finding first identifier starting with specified input.
+        int index = this.lowerBound(input);
+        // Iterating over consecutive namespaces starting with specified input.
+        while (index < identifiers.length && completions.size() < limit && identifiers[index].startsWith(input) == true) {
+            final String identifier = identifiers[index];
+            final int separator = identifier.indexOf(NAMESPACE_SEPARATOR);
+            // Completing identifiers with no namespace as-is.
+            if (separator == -1) {
+                completions.add(identifier);
+                index++;
+                continue;
+            }
+            // Finding first identifier of the next namespace. All identifiers of the current namespace are skipped.
+            final int next = this.lowerBound(identifier.substring(0, separator) + (char) (NAMESPACE_SEPARATOR + 1));
+            // Completing namespaces containing just a single identifier straight to that identifier. Otherwise, namespace is completed.
+            completions.add((next - index == 1) ? identifier : identifier.substring(0, separator + 1));
+            // ...
+            index = next;
+        }
+        return completions;
+    }
+
+    /**
+     * Returns up to {@code limit} identifiers starting with specified prefix.
+     */
+    public @NotNull List<String> find(final @NotNull String prefix, final int limit) {
+        final List<String> results = new ArrayList<>();
+        // Iterating over consecutive identifiers starting with specified prefix.
+        for (int index = this.lowerBound(prefix); index < identifiers.length && results.size() < limit && identifiers[index].startsWith(prefix) == true; index++)
+            results.add(identifiers[index]);
+        // ...
+        return results;
+    }
+
+    /**
+     * Returns number of indexed identifiers.
+     */
+    public int size() {
+        return identifiers.length;
+    }
+
+    // Returns index of the first identifier that is greater than or equal to specified key.
+    private int lowerBound(final @NotNull String key) {
+        int low = 0;
+        int high = identifiers.length;
+        // ...
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            // ...
+            if (identifiers[middle].compareTo(key) < 0)
+                low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.metrics;
+
+import cloud.grabsky.dialogs.DialogElement;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * JDK Flight Recorder events emitted by the plugin. Events are registered only when enabled in the configuration.
+ * <p>
+ * Factory methods return {@code null} while events are disabled, meaning disabled events cost a single volatile read and nothing is allocated.
+ * Returned events have already begun and should be committed once the measured operation is complete.
+ */
+public final class DialogsEvents {
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            DialogTriggered.class,
+            ElementExecuted.class,
+            ConditionEvaluated.class,
+            FrameSent.class,
+            ReloadCompleted.class
+    );
+
+    // Whether events are currently registered.
+    private static volatile boolean isEnabled = false;
+
+    private DialogsEvents() { /* STATIC */ }
+
+    /**
+     * Returns {@code true} if events are enabled.
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables all events. Events are (un)registered with the {@link FlightRecorder}, so they are listed only while enabled.
+     */
+    public static synchronized void setEnabled(final boolean isEnabled) {
+        if (DialogsEvents.isEnabled == isEnabled)
+            return;
+        // Registering or unregistering each event class.
+        for (final Class<? extends Event> event : EVENTS)
+            if (isEnabled == true)
+                FlightRecorder.register(event);
+            else FlightRecorder.unregister(event);
+        // ...
+        DialogsEvents.isEnabled = isEnabled;
+    }
+
+    /**
+     * Returns a new {@link DialogTriggered} event, or {@code null} if events are disabled.
+     */
+    public static @Nullable DialogTriggered triggered(final @Nullable String dialog, final int targets) {
+        if (isEnabled == false)
+            return null;
+        // ...
+        final DialogTriggered event = new DialogTriggered();
+        event.dialog = dialog;
+        event.targets = targets;
+        event.begin();
+        // ...
+        return event;
+    }
+
+    /**
+     * Returns a new {@link ElementExecuted} event, or {@code null} if events are disabled.
+     */
+    public static @Nullable ElementExecuted elementExecuted(final @Nullable String dialog, final @NotNull DialogElement element) {
+        if (isEnabled == false)
+            return null;
+        // ...
+        final ElementExecuted event = new ElementExecuted();
+        event.dialog = dialog;
+        event.type = element.getClass().getSimpleName();
+        event.begin();
+        // ...
+        return event;
+    }
+
+    /**
+     * Returns a new {@link ConditionEvaluated} event, or {@code null} if events are disabled.
+     */
+    public static @Nullable ConditionEvaluated conditionEvaluated(final @Nullable String dialog) {
+        if (isEnabled == false)
+            return null;
+        // ...
+        final ConditionEvaluated event = new ConditionEvaluated();
+        event.dialog = dialog;
+        event.begin();
+        // ...
+        return event;
+    }
+
+    /**
+     * Returns a new {@link FrameSent} event, or {@code null} if events are disabled.
+     */
+    public static @Nullable FrameSent frameSent(final @Nullable String dialog, final int frame) {
+        if (isEnabled == false)
+            return null;
+        // ...
+        final FrameSent event = new FrameSent();
+        event.dialog = dialog;
+        event.frame = frame;
+        event.begin();
+        // ...
+        return event;
+    }
+
+    /**
+     * Returns a new {@link ReloadCompleted} event, or {@code null} if events are disabled.
+     */
+    public static @Nullable ReloadCompleted reloadStarted(final boolean isIncremental) {
+        if (isEnabled == false)
+            return null;
+        // ...
+        final ReloadCompleted event = new ReloadCompleted();
+        event.incremental = isIncremental;
+        event.begin();
+        // ...
+        return event;
+    }
+
+    @Registered(false) @StackTrace(false)
+    @Name("cloud.grabsky.dialogs.DialogTriggered")
+    @Label("Dialog Triggered")
+    @Category("Dialogs")
+    @Description("Dialog has been triggered and queued for playback.")
+    public static final class DialogTriggered extends Event {
+
+        @Label("Dialog")
+        public @Nullable String dialog;
+
+        @Label("Targets")
+        public int targets;
+
+    }
+
+    @Registered(false) @StackTrace(false)
+    @Name("cloud.grabsky.dialogs.ElementExecuted")
+    @Label("Element Executed")
+    @Category("Dialogs")
+    @Description("Dialog element has been executed. Messages are timed while being delivered by the sender thread, commands while being dispatched.")
+    public static final class ElementExecuted extends Event {
+
+        @Label("Dialog")
+        public @Nullable String dialog;
+
+        @Label("Type")
+        public @Nullable String type;
+
+    }
+
+    @Registered(false) @StackTrace(false)
+    @Name("cloud.grabsky.dialogs.ConditionEvaluated")
+    @Label("Condition Evaluated")
+    @Category("Dialogs")
+    @Description("Conditions of a dialog element have been evaluated.")
+    public static final class ConditionEvaluated extends Event {
+
+        @Label("Dialog")
+        public @Nullable String dialog;
+
+        @Label("Conditions")
+        public int conditions;
+
+        @Label("Passed")
+        public boolean passed;
+
+    }
+
+    @Registered(false) @StackTrace(false)
+    @Name("cloud.grabsky.dialogs.FrameSent")
+    @Label("Frame Sent")
+    @Category("Dialogs")
+    @Description("Animation frame has been delivered to the audience by the sender thread.")
+    public static final class FrameSent extends Event {
+
+        @Label("Dialog")
+        public @Nullable String dialog;
+
+        @Label("Frame")
+        public int frame;
+
+    }
+
+    @Registered(false) @StackTrace(false)
+    @Name("cloud.grabsky.dialogs.ReloadCompleted")
+    @Label("Reload Completed")
+    @Category("Dialogs")
+    @Description("Dialogs have been (re)loaded and published.")
+    public static final class ReloadCompleted extends Event {
+
+        @Label("Incremental")
+        public boolean incremental;
+
+        @Label("Version")
+        public long version;
+
+        @Label("Files")
+        public int files;
+
+        @Label("Dialogs")
+        public int dialogs;
+
+        @Label("Success")
+        public boolean success;
+
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.metrics;
+
+import cloud.grabsky.dialogs.DialogElement;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Runtime metrics of the plugin. All counters are striped ({@link LongAdder}), so recording never blocks and is safe from any thread.
+ * Values can be polled at any time, by this plugin or any other.
+ */
+public final class DialogsMetrics {
+
+    /**
+     * Identifier reported for dialogs that were not loaded from a file.
+     */
+    public static final String UNKNOWN_IDENTIFIER = "unknown";
+
+    // Number of dialogs triggered, keyed by dialog identifier.
+    private final Map<String, LongAdder> triggers = new ConcurrentHashMap<>();
+
+    // Number of elements executed, keyed by element type.
+    private final Map<String, LongAdder> elements = new ConcurrentHashMap<>();
+
+    // Counter of each element class. Avoids map lookups on the hot path.
+    private final ClassValue<LongAdder> elementCounters = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(final @NotNull Class<?> type) {
+            return elements.computeIfAbsent(type.getSimpleName(), (___) -> new LongAdder());
+        }
+    };
+
+    private final LongAdder conditionsEvaluated = new LongAdder();
+
+    private final LongAdder elementsSkipped = new LongAdder();
+
+    private final LongAdder commandsDeferred = new LongAdder();
+
+    private final LongAdder framesSkipped = new LongAdder();
+
+    /**
+     * Difference between the tick at which dialog elements were actually executed and the tick they were planned for. Measured in ticks of real time (50ms).
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final Histogram schedulingLag = new Histogram(8);
+
+    /**
+     * Time spent dispatching commands of {@code CommandElement CommandElements}.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final Timer commandDispatch = new Timer();
+
+    /**
+     * Number of ticks commands had to wait in the queue before being dispatched.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final Histogram commandDelay = new Histogram(8);
+
+    /**
+     * Time spent resolving placeholders that were not cached.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final Timer placeholderResolution = new Timer();
+
+    // Supplies number of currently active dialogs.
+    private volatile @Nullable IntSupplier activeDialogs;
+
+    // Supplies number of commands waiting to be dispatched.
+    private volatile @Nullable IntSupplier commandQueueDepth;
+
+    /**
+     * Sets supplier of number of currently active dialogs.
+     */
+    public void setActiveDialogs(final @Nullable IntSupplier activeDialogs) {
+        this.activeDialogs = activeDialogs;
+    }
+
+    /**
+     * Returns number of dialogs that are currently being played.
+     */
+    public int getActiveDialogs() {
+        final @Nullable IntSupplier activeDialogs = this.activeDialogs;
+        // ...
+        return (activeDialogs != null) ? activeDialogs.getAsInt() : 0;
+    }
+
+    /**
+     * Sets supplier of number of commands waiting to be dispatched.
+     */
+    public void setCommandQueueDepth(final @Nullable IntSupplier commandQueueDepth) {
+        this.commandQueueDepth = commandQueueDepth;
+    }
+
+    /**
+     * Returns number of commands waiting to be dispatched.
+     */
+    public int getCommandQueueDepth() {
+        final @Nullable IntSupplier commandQueueDepth = this.commandQueueDepth;
+        // ...
+        return (commandQueueDepth != null) ? commandQueueDepth.getAsInt() : 0;
+    }
+
+    /**
+     * Records specified number of triggers of dialog with specified identifier.
+     */
+    public void recordTriggers(final @Nullable String identifier, final int count) {
+        final String key = (identifier != null) ? identifier : UNKNOWN_IDENTIFIER;
+        // Looking up existing counter first, as computeIfAbsent may lock even when the key is present.
+        @Nullable LongAdder counter = triggers.get(key);
+        // ...
+        if (counter == null)
+            counter = triggers.computeIfAbsent(key, (___) -> new LongAdder());
+        // ...
+        counter.add(count);
+    }
+
+    /**
+     * Records execution of specified element.
+     */
+    public void recordElement(final @NotNull DialogElement element) {
+        elementCounters.get(element.getClass()).increment();
+    }
+
+    /**
+     * Records evaluation of specified number of conditions.
+     */
+    public void recordConditions(final int count) {
+        conditionsEvaluated.add(count);
+    }
+
+    /**
+     * Records an element which has been skipped because its conditions were not met.
+     */
+    public void recordSkipped() {
+        elementsSkipped.increment();
+    }
+
+    /**
+     * Records a command that has been dispatched after waiting specified number of ticks in the queue.
+     */
+    public void recordCommandDelay(final long ticks) {
+        commandDelay.record(ticks);
+        // Counting commands which could not be dispatched within the tick they were queued in.
+        if (ticks > 0)
+            commandsDeferred.increment();
+    }
+
+    /**
+     * Records specified number of animation frames skipped to catch up with real time.
+     */
+    public void recordSkippedFrames(final int count) {
+        framesSkipped.add(count);
+    }
+
+    /**
+     * Returns number of dialogs triggered so far, keyed by dialog identifier.
+     */
+    public @NotNull Map<String, Long> getTriggers() {
+        return snapshot(triggers);
+    }
+
+    /**
+     * Returns number of elements executed so far, keyed by element type.
+     */
+    public @NotNull Map<String, Long> getElementsExecuted() {
+        return snapshot(elements);
+    }
+
+    /**
+     * Returns number of conditions evaluated so far.
+     */
+    public long getConditionsEvaluated() {
+        return conditionsEvaluated.sum();
+    }
+
+    /**
+     * Returns number of elements skipped so far, because their conditions were not met.
+     */
+    public long getElementsSkipped() {
+        return elementsSkipped.sum();
+    }
+
+    /**
+     * Returns number of commands that have been deferred to a later tick, because budget of the tick they were queued in has been exhausted.
+     */
+    public long getCommandsDeferred() {
+        return commandsDeferred.sum();
+    }
+
+    /**
+     * Returns number of animation frames that have been skipped so far, because server could not keep up with their refresh rate.
+     */
+    public long getFramesSkipped() {
+        return framesSkipped.sum();
+    }
+
+    /**
+     * Returns {@link PlaceholderResolver} that delegates to specified resolver and records time spent in it.
+     */
+    public @NotNull PlaceholderResolver timed(final @NotNull PlaceholderResolver resolver) {
+        return (player, text) -> {
+            final long start = System.nanoTime();
+            // ...
+            try {
+                return resolver.resolve(player, text);
+            } finally {
+                placeholderResolution.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    // Returns sorted copy of specified counters.
+    private static @NotNull Map<String, Long> snapshot(final @NotNull Map<String, LongAdder> counters) {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        // ...
+        counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        // ...
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Lock-free histogram with power-of-two buckets. Bucket {@code 0} counts zero values, bucket {@code n} counts values in range {@code [2^(n-1), 2^n)}, and the last bucket counts all values above.
+ */
+public final class Histogram {
+
+    private final LongAdder[] buckets;
+
+    public Histogram(final int buckets) {
+        this.buckets = new LongAdder[buckets];
+        // ...
+        for (int i = 0; i < buckets; i++)
+            this.buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records specified value. Negative values are recorded as zero.
+     */
+    public void record(final long value) {
+        final int bucket = (value <= 0) ? 0 : 64 - Long.numberOfLeadingZeros(value);
+        // ...
+        buckets[Math.min(bucket, buckets.length - 1)].increment();
+    }
+
+    /**
+     * Returns number of buckets.
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns lower bound (inclusive) of specified bucket.
+     */
+    public long getLowerBound(final int bucket) {
+        return (bucket == 0) ? 0L : 1L << (bucket - 1);
+    }
+
+    /**
+     * Returns number of values recorded in each bucket.
+     */
+    public long @NotNull [] getCounts() {
+        final long[] counts = new long[buckets.length];
+        // ...
+        for (int i = 0; i < buckets.length; i++)
+            counts[i] = buckets[i].sum();
+        // ...
+        return counts;
+    }
+
+}
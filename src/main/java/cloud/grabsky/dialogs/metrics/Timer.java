@@ -0,0 +1,69 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free timer, recording number of timed operations along with their total and maximum duration.
+ */
+public final class Timer {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a single operation that took specified amount of nanoseconds.
+     */
+    public void record(final long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Returns number of recorded operations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns total duration of all recorded operations, in specified unit.
+     */
+    public long getTotal(final TimeUnit unit) {
+        return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns average duration of recorded operations, in microseconds.
+     */
+    public double getAverageMicros() {
+        final long count = this.count.sum();
+        // ...
+        return (count == 0) ? 0.0 : (totalNanos.sum() / (double) count) / 1_000.0;
+    }
+
+    /**
+     * Returns maximum duration of recorded operations, in microseconds.
+     */
+    public double getMaxMicros() {
+        return maxNanos.get() / 1_000.0;
+    }
+
+}
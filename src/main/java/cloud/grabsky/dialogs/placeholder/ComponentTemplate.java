@@ -0,0 +1,184 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents {@link MiniMessage} text that has been parsed ahead of time. Placeholders are substituted with slots, which are
+ * filled with resolved values on render, without parsing the whole text again.
+ * <p>
+ * Text is parsed on each render when a template cannot be built (for example, when placeholders are used inside tag arguments)
+ * or when any of the resolved values contains {@link MiniMessage} syntax.
+ */
+public final class ComponentTemplate {
+
+    // First character used to mark slots. Characters from the private use area are not expected to appear in regular text.
+    private static final char SLOT_BASE = '\uE000';
+
+    // Maximum number of slots per template.
+    private static final int MAX_SLOTS = 256;
+
+    private static final Pattern SLOT_PATTERN = Pattern.compile("[\uE000-\uE0FF]");
+
+    /**
+     * Source {@link MiniMessage} text.
+     */
+    private final @NotNull String text;
+
+    /**
+     * Placeholders to be substituted, indexed by slot.
+     */
+    private final @NotNull String[] placeholders;
+
+    /**
+     * Pre-parsed {@link Component} with placeholders substituted by slots, or {@code null} if text has to be parsed on each render.
+     */
+    private final @Nullable Component component;
+
+    private ComponentTemplate(final @NotNull String text, final @NotNull String[] placeholders, final @Nullable Component component) {
+        this.text = text;
+        this.placeholders = placeholders;
+        this.component = component;
+    }
+
+    /**
+     * Parses specified {@link MiniMessage} text to a new {@link ComponentTemplate}.
+     */
+    public static @NotNull ComponentTemplate compile(final @NotNull String text) {
+        // Text cannot be templated in case placeholders are used inside tags, for example as tag names or tag arguments.
+        if (isPlaceholderInsideTag(text) == true)
+            return new ComponentTemplate(text, new String[0], null);
+        final List<String> placeholders = new ArrayList<>();
+        final StringBuilder builder = new StringBuilder(text.length());
+        // Index of the first character that has not been copied to the builder yet.
+        int last = 0;
+        // Index of the current placeholder start.
+        int start = Placeholders.find(text, 0);
+        // Scanning text for placeholders, the same way as Placeholders#set does.
+        while (start != -1) {
+            final int end = Placeholders.end(text, start);
+            // Text cannot be templated in case there are too many placeholders.
+            if (placeholders.size() == MAX_SLOTS)
+                return new ComponentTemplate(text, new String[0], null);
+            // Substituting the placeholder with a slot.
+            builder.append(text, last, start).append((char) (SLOT_BASE + placeholders.size()));
+            placeholders.add(text.substring(start, end + 1));
+            // Moving onto the next placeholder.
+            last = end + 1;
+            start = Placeholders.find(text, last);
+        }
+        builder.append(text, last, text.length());
+        // Text cannot be templated in case it already contains characters used to mark slots.
+        if (placeholders.isEmpty() == false && SLOT_PATTERN.matcher(text).find() == true)
+            return new ComponentTemplate(text, new String[0], null);
+        // Parsing the text.
+        final Component component = MiniMessage.miniMessage().deserialize(builder.toString()).compact();
+        // Making sure each slot ended up in the text content exactly once. Slots placed inside tag arguments cannot be filled.
+        if (placeholders.isEmpty() == false) {
+            final String plain = PlainTextComponentSerializer.plainText().serialize(component);
+            // ...
+            for (int i = 0; i < placeholders.size(); i++) {
+                final int index = plain.indexOf(SLOT_BASE + i);
+                // ...
+                if (index == -1 || plain.indexOf(SLOT_BASE + i, index + 1) != -1)
+                    return new ComponentTemplate(text, new String[0], null);
+            }
+        }
+        // Returning the template.
+        return new ComponentTemplate(text, placeholders.toArray(String[]::new), component);
+    }
+
+    // Returns true if any '%' character is placed inside a MiniMessage tag. Escaped characters and quoted tag arguments are taken into account.
+    private static boolean isPlaceholderInsideTag(final @NotNull String text) {
+        boolean isInsideTag = false;
+        // Quote character of the tag argument that is currently open, or zero if there is none.
+        char quote = 0;
+        // ...
+        for (int i = 0; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            // Skipping escaped characters.
+            if (character == '\\') {
+                i++;
+                continue;
+            }
+            // Text outside of tags...
+            if (isInsideTag == false) {
+                if (character == '<')
+                    isInsideTag = true;
+                continue;
+            }
+            // Text inside of tags...
+            if (character == '%')
+                return true;
+            // ...
+            if (quote != 0) {
+                if (character == quote)
+                    quote = 0;
+            } else if (character == '\'' || character == '"') {
+                quote = character;
+            } else if (character == '>') {
+                isInsideTag = false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if this template contains no placeholders, meaning it renders to the same {@link Component} each time.
+     */
+    public boolean isConstant() {
+        return component != null && placeholders.length == 0;
+    }
+
+    /**
+     * Renders this template for specified {@link Player}, resolving placeholders using specified {@link PlaceholderResolver}.
+     */
+    public @NotNull Component render(final @NotNull Player player, final @NotNull PlaceholderResolver resolver) {
+        // Parsing the whole text in case template could not be built.
+        if (component == null)
+            return MiniMessage.miniMessage().deserialize(resolver.resolve(player, text));
+        // Returning pre-parsed component in case there is nothing to substitute.
+        if (placeholders.length == 0)
+            return component;
+        // Resolving placeholders.
+        final String[] values = new String[placeholders.length];
+        // ...
+        for (int i = 0; i < placeholders.length; i++) {
+            values[i] = resolver.resolve(player, placeholders[i]);
+            // Parsing the whole text in case resolved value contains MiniMessage syntax. Otherwise, it would be displayed as-is.
+            if (values[i].indexOf('<') != -1 || values[i].indexOf('\\') != -1)
+                return MiniMessage.miniMessage().deserialize(resolver.resolve(player, text));
+        }
+        // Filling slots with resolved values.
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(SLOT_PATTERN)
+                .replacement((result, builder) -> builder.content(values[result.group().charAt(0) - SLOT_BASE]))
+                .build()
+        );
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thread-safe {@link PlaceholderResolver} that caches resolved placeholders per player. Each placeholder is cached for a time-to-live
+ * defined by the first matching pattern. Placeholders that do not match any pattern are not cached at all.
+ * <p>
+ * Cache of each player is bounded and evicts least recently used placeholders first.
+ */
+public final class PlaceholderCache implements PlaceholderResolver {
+
+    /**
+     * Resolver used to resolve placeholders that are not cached or have expired.
+     */
+    private final @NotNull PlaceholderResolver delegate;
+
+    // Cached placeholders, keyed by unique identifier of the player.
+    private final Map<UUID, Entries> entries = new ConcurrentHashMap<>();
+
+    // Time-to-live (in nanoseconds) of each placeholder that has been looked up so far. Cleared each time rules are changed.
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+
+    // Resolves a single placeholder, consulting the cache first.
+    private final PlaceholderResolver single = this::resolvePlaceholder;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile @NotNull List<Rule> rules = List.of();
+
+    private volatile int maxEntriesPerPlayer = 256;
+
+    public PlaceholderCache(final @NotNull PlaceholderResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Replaces caching rules. Keys of specified map are placeholder patterns, where {@code *} matches any sequence of characters,
+     * and values are time-to-live in milliseconds. All cached values are invalidated.
+     */
+    public void configure(final @NotNull Map<String, Long> ttls, final int maxEntriesPerPlayer) {
+        final List<Rule> rules = new ArrayList<>(ttls.size());
+        // Compiling patterns.
+        ttls.forEach((pattern, ttl) -> {
+            if (ttl != null && ttl > 0)
+                rules.add(new Rule(Pattern.compile("\\Q" + pattern.replace("*", "\\E.*\\Q") + "\\E"), TimeUnit.MILLISECONDS.toNanos(ttl)));
+        });
+        // ...
+        this.rules = List.copyOf(rules);
+        this.maxEntriesPerPlayer = Math.max(1, maxEntriesPerPlayer);
+        // Forgetting everything that has been cached using old rules.
+        this.ttls.clear();
+        this.invalidateAll();
+    }
+
+    @Override
+    public @NotNull String resolve(final @NotNull Player player, final @NotNull String text) {
+        return Placeholders.set(player, text, single);
+    }
+
+    /**
+     * Invalidates all placeholders cached for specified player.
+     */
+    public void invalidate(final @NotNull UUID uniqueId) {
+        entries.remove(uniqueId);
+    }
+
+    /**
+     * Invalidates specified placeholder cached for specified player.
+     */
+    public void invalidate(final @NotNull UUID uniqueId, final @NotNull String placeholder) {
+        final @Nullable Entries cache = entries.get(uniqueId);
+        // ...
+        if (cache != null)
+            synchronized (cache) {
+                cache.remove(placeholder);
+            }
+    }
+
+    /**
+     * Invalidates all cached placeholders.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Returns number of lookups that were served from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns number of lookups of cacheable placeholders that had to be resolved.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private @NotNull String resolvePlaceholder(final @NotNull Player player, final @NotNull String placeholder) {
+        final long ttl = ttls.computeIfAbsent(placeholder, this::findTimeToLive);
+        // Resolving placeholders that should not be cached.
+        if (ttl <= 0)
+            return delegate.resolve(player, placeholder);
+        // Getting cache of the player.
+        final Entries cache = entries.computeIfAbsent(player.getUniqueId(), (___) -> new Entries(maxEntriesPerPlayer));
+        // ...
+        final long now = System.nanoTime();
+        // Returning cached value, unless it has expired.
+        synchronized (cache) {
+            final @Nullable Entry entry = cache.get(placeholder);
+            // ...
+            if (entry != null && now - entry.expiresAt < 0) {
+                hits.increment();
+                return entry.value;
+            }
+        }
+        misses.increment();
+        // Resolving the placeholder. This happens outside of the lock, as some expansions can take a while.
+        final String value = delegate.resolve(player, placeholder);
+        // Caching the value.
+        synchronized (cache) {
+            cache.put(placeholder, new Entry(value, now + ttl));
+        }
+        // ...
+        return value;
+    }
+
+    // Returns time-to-live of the first rule matching specified placeholder, or zero if there is no such rule.
+    private long findTimeToLive(final @NotNull String placeholder) {
+        for (final Rule rule : rules)
+            if (rule.pattern.matcher(placeholder).matches() == true)
+                return rule.ttl;
+        // ...
+        return 0L;
+    }
+
+    private record Rule(@NotNull Pattern pattern, long ttl) { /* DATA */ }
+
+    private record Entry(@NotNull String value, long expiresAt) { /* DATA */ }
+
+    // Access-ordered map, evicting least recently used entry once the limit has been exceeded.
+    private static final class Entries extends LinkedHashMap<String, Entry> {
+
+        private final int limit;
+
+        private Entries(final int limit) {
+            super(16, 0.75f, true);
+            this.limit = limit;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final @NotNull Map.Entry<String, Entry> eldest) {
+            return size() > limit;
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link PlaceholderResolver} that memoizes resolved placeholders per player, until {@link #clear()} is called. Placeholders are
+ * resolved one by one, meaning different texts referencing the same placeholder share a single resolution.
+ * <p>
+ * Memo is not thread-safe and is expected to be used and cleared from the main thread, once per tick.
+ */
+public final class PlaceholderMemo implements PlaceholderResolver {
+
+    /**
+     * Resolver used to resolve placeholders that are not memoized yet.
+     */
+    private final @NotNull PlaceholderResolver delegate;
+
+    // Resolved placeholders, keyed by unique identifier of the player and then by the placeholder itself.
+    private final Map<UUID, Map<String, String>> values = new HashMap<>();
+
+    // Resolves a single placeholder, consulting the memo first.
+    private final PlaceholderResolver single = this::resolvePlaceholder;
+
+    public PlaceholderMemo(final @NotNull PlaceholderResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public @NotNull String resolve(final @NotNull Player player, final @NotNull String text) {
+        return Placeholders.set(player, text, single);
+    }
+
+    /**
+     * Clears all memoized values.
+     */
+    public void clear() {
+        if (values.isEmpty() == false)
+            values.clear();
+    }
+
+    private @NotNull String resolvePlaceholder(final @NotNull Player player, final @NotNull String placeholder) {
+        final Map<String, String> memo = values.computeIfAbsent(player.getUniqueId(), (___) -> new HashMap<>());
+        // Resolving the placeholder, unless it has already been resolved.
+        @Nullable String value = memo.get(placeholder);
+        // ...
+        if (value == null) {
+            value = delegate.resolve(player, placeholder);
+            memo.put(placeholder, value);
+        }
+        // ...
+        return value;
+    }
+
+}
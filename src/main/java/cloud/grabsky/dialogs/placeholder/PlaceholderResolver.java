@@ -0,0 +1,39 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import cloud.grabsky.dialogs.Dialogs;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.entity.Player;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Resolves PlaceholderAPI placeholders in a text, in context of a specific {@link Player}.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+
+    /**
+     * Resolver that passes text straight to PlaceholderAPI. Text is returned as-is when PlaceholderAPI is not present.
+     */
+    PlaceholderResolver DIRECT = (player, text) -> (Dialogs.isPlaceholderAPI() == true && text.indexOf('%') != -1) ? PlaceholderAPI.setPlaceholders(player, text) : text;
+
+    /**
+     * Returns specified text with all placeholders set.
+     */
+    @NotNull String resolve(final @NotNull Player player, final @NotNull String text);
+
+}
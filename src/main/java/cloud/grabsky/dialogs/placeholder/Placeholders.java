@@ -0,0 +1,122 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import cloud.grabsky.dialogs.Dialogs;
+import org.bukkit.entity.Player;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.jetbrains.annotations.Nullable;
+
+public final class Placeholders {
+
+    private Placeholders() { /* STATIC */ }
+
+    /**
+     * Returns specified text with all placeholders set. Each placeholder (including the surrounding {@code %} characters) is resolved separately using specified {@link PlaceholderResolver}.
+     * Placeholders are matched using the same rules as PlaceholderAPI; see {@link #find(String, int)}.
+     */
+    public static @NotNull String set(final @NotNull Player player, final @NotNull String text, final @NotNull PlaceholderResolver resolver) {
+        // Returning text as-is in case it cannot contain any placeholders.
+        if (Dialogs.isPlaceholderAPI() == false || text.indexOf('%') == -1)
+            return text;
+        // ...
+        return replace(player, text, resolver);
+    }
+
+    // Returns specified text with all placeholders set. Unlike Placeholders#set, does not check whether PlaceholderAPI is present.
+    @VisibleForTesting
+    static @NotNull String replace(final @NotNull Player player, final @NotNull String text, final @NotNull PlaceholderResolver resolver) {
+        // Builder is created only after first placeholder has been found.
+        @Nullable StringBuilder builder = null;
+        // Index of the first character that has not been copied to the builder yet.
+        int last = 0;
+        // Index of the current placeholder start.
+        int start = find(text, 0);
+        // Scanning text for placeholders.
+        while (start != -1) {
+            final int end = end(text, start);
+            // Resolving the placeholder. Text that consists of a single placeholder is passed as-is.
+            final String value = (start == 0 && end == text.length() - 1)
+                    ? resolver.resolve(player, text)
+                    : resolver.resolve(player, text.substring(start, end + 1));
+            // Creating the builder in case it has not been created yet.
+            if (builder == null)
+                builder = new StringBuilder(text.length() + 16);
+            // Appending text before the placeholder and the resolved value.
+            builder.append(text, last, start).append(value);
+            // Moving onto the next placeholder.
+            last = end + 1;
+            start = find(text, last);
+        }
+        // Returning text as-is in case no placeholders were found.
+        if (builder == null)
+            return text;
+        // Appending the remaining text and returning.
+        return builder.append(text, last, text.length()).toString();
+    }
+
+    /**
+     * Returns index of the opening {@code %} character of the first placeholder found at or after specified index, or {@code -1} if there is none.
+     * <p>
+     * Placeholders are scanned exactly the same way as PlaceholderAPI does it: every {@code %...%} candidate which is closed, and has no space before
+     * the first {@code _} character, is a placeholder. This includes candidates with no {@code _} at all (placeholders of expansions without parameters),
+     * as well as candidates with an empty identifier. Whether such placeholder actually resolves to anything is up to the {@link PlaceholderResolver};
+     * PlaceholderAPI leaves placeholders of unknown expansions as-is. Candidate that contains a space before the first {@code _} is not a placeholder,
+     * and scanning continues right after that space, meaning text like {@code "Get 50% off, %player_name%"} has only one placeholder.
+     */
+    public static int find(final @NotNull String text, final int from) {
+        int start = text.indexOf('%', from);
+        // Scanning text for candidates.
+        while (start != -1) {
+            boolean isIdentified = false;
+            // Index of the character that ended the candidate.
+            int index = start + 1;
+            // ...
+            for (; index < text.length(); index++) {
+                final char character = text.charAt(index);
+                // Space before the first underscore; candidate is not a placeholder.
+                if (isIdentified == false && character == ' ')
+                    break;
+                // Closing character; candidate is complete.
+                if (character == '%')
+                    break;
+                // Underscore separates identifier from parameters.
+                if (character == '_')
+                    isIdentified = true;
+            }
+            // Returning in case candidate is not closed. There cannot be any more placeholders.
+            if (index >= text.length())
+                return -1;
+            // Continuing right after the space, in case candidate has been ended by one.
+            if (text.charAt(index) == ' ') {
+                start = text.indexOf('%', index + 1);
+                continue;
+            }
+            // Candidate is closed, and is a placeholder. Scanning continues after it's closing character.
+            return start;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns index of the closing {@code %} character of placeholder starting at specified index, as returned by {@link #find(String, int)}.
+     */
+    public static int end(final @NotNull String text, final int start) {
+        return text.indexOf('%', start + 1);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import cloud.grabsky.dialogs.elements.CommandElement;
+import cloud.grabsky.dialogs.metrics.DialogsEvents;
+import cloud.grabsky.dialogs.metrics.DialogsMetrics;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * First-in-first-out queue of commands waiting to be dispatched on the main thread. Each tick dispatches queued commands until either
+ * count or time budget is exhausted. Leftover commands are carried over to the next tick, in the same order they were queued in.
+ * <p>
+ * Command elements are considered executed once their commands are dispatched, hence these are recorded by the queue and not when queued.
+ * <p>
+ * Queue is not thread-safe and is expected to be accessed from the main thread only.
+ */
+@Internal
+public final class CommandQueue {
+
+    private final @NotNull Server server;
+
+    private final @NotNull Logger logger;
+
+    private final @NotNull DialogsMetrics metrics;
+
+    // Commands waiting to be dispatched, in order they were queued in.
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    // Number of queued commands. Mirrors the size of the queue, so it can be safely read from other threads.
+    private volatile int size = 0;
+
+    // Maximum number of commands dispatched within a single tick. Values lower than 1 mean there is no limit.
+    private int maxCommandsPerTick = 0;
+
+    // Maximum time (in nanoseconds) spent on dispatching commands within a single tick. Values lower than 1 mean there is no limit.
+    private long maxNanosPerTick = 0L;
+
+    public CommandQueue(final @NotNull Server server, final @NotNull Logger logger, final @NotNull DialogsMetrics metrics) {
+        this.server = server;
+        this.logger = logger;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Applies specified budget. Values lower than {@code 1} mean there is no limit.
+     */
+    public void configure(final int maxCommandsPerTick, final long maxNanosPerTick) {
+        this.maxCommandsPerTick = maxCommandsPerTick;
+        this.maxNanosPerTick = maxNanosPerTick;
+    }
+
+    /**
+     * Returns number of commands waiting to be dispatched. Can be called from any thread.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Queues specified command of specified element to be dispatched by specified sender. Command must already have placeholders set.
+     * Element is recorded as executed when it's first command is dispatched.
+     */
+    public void add(final @NotNull CommandSender sender, final @NotNull String command, final @Nullable String dialog, final @NotNull CommandElement element, final boolean isFirst, final long tick) {
+        entries.add(new Entry(sender, command, dialog, element, isFirst, tick));
+        // ...
+        size = entries.size();
+    }
+
+    /**
+     * Dispatches queued commands until budget of the current tick is exhausted. At least one command is dispatched each tick, so the queue is always making progress.
+     */
+    public void drain(final long currentTick) {
+        if (entries.isEmpty() == true)
+            return;
+        // ...
+        final long start = System.nanoTime();
+        // Number of commands dispatched so far.
+        int dispatched = 0;
+        // Dispatching commands until the queue is empty or budget is exhausted.
+        while (entries.isEmpty() == false) {
+            if (dispatched > 0 && ((maxCommandsPerTick > 0 && dispatched >= maxCommandsPerTick) || (maxNanosPerTick > 0 && System.nanoTime() - start >= maxNanosPerTick)))
+                break;
+            // ...
+            this.dispatch(entries.poll(), currentTick);
+            // ...
+            dispatched++;
+        }
+        // ...
+        size = entries.size();
+    }
+
+    /**
+     * Dispatches all queued commands, ignoring the budget.
+     */
+    public void flush(final long currentTick) {
+        while (entries.isEmpty() == false)
+            this.dispatch(entries.poll(), currentTick);
+        // ...
+        size = 0;
+    }
+
+    // Dispatches specified entry. Commands of players that have left the server in the meanwhile are discarded.
+    private void dispatch(final @NotNull Entry entry, final long currentTick) {
+        if (entry.sender instanceof Player player && player.isConnected() == false)
+            return;
+        // Recording number of ticks command had to wait for.
+        metrics.recordCommandDelay(currentTick - entry.tick);
+        // Recording execution of the element. Elements with multiple commands are counted once.
+        if (entry.isFirst == true)
+            metrics.recordElement(entry.element);
+        // ...
+        final @Nullable DialogsEvents.ElementExecuted event = DialogsEvents.elementExecuted(entry.dialog, entry.element);
+        // Measuring time spent on dispatching the command.
+        final long start = System.nanoTime();
+        // Another try...catch block is used here to make sure exception will interrupt dispatching of current command only, not all of them.
+        try {
+            server.dispatchCommand(entry.sender, entry.command);
+        } catch (final RuntimeException e) {
+            logger.log(Level.SEVERE, "An error occurred while dispatching command \"" + entry.command + "\" as " + entry.sender.getName() + ".", e);
+        } finally {
+            metrics.getCommandDispatch().record(System.nanoTime() - start);
+            // ...
+            if (event != null)
+                event.commit();
+        }
+    }
+
+    private record Entry(@NotNull CommandSender sender, @NotNull String command, @Nullable String dialog, @NotNull CommandElement element, boolean isFirst, long tick) { /* DATA */ }
+
+}
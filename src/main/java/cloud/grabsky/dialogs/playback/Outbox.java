@@ -0,0 +1,178 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import cloud.grabsky.bedrock.components.Message;
+import jdk.jfr.Event;
+import net.kyori.adventure.audience.Audience;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects messages prepared during a single tick and hands them over to a dedicated sender thread, which delivers them to their audiences.
+ * Messages must be fully rendered (placeholders set) on the main thread before being queued, meaning no PlaceholderAPI expansion is ever called from the sender thread.
+ * <p>
+ * Sender thread is single, so messages are always delivered in the same order they were queued in. Batches are pooled and re-used, meaning queuing a message does not allocate once warmed up.
+ * Flight recorder events queued along with messages are (re)started and committed by the sender thread, meaning they measure the actual delivery.
+ * Outbox is not thread-safe and is expected to be accessed from the main thread only.
+ */
+@Internal
+public final class Outbox {
+
+    private final @NotNull Logger logger;
+
+    // Thread responsible for delivering the messages.
+    private final ExecutorService executor;
+
+    // Batches which have been delivered and can be re-used.
+    private final Queue<Batch> pool = new ConcurrentLinkedQueue<>();
+
+    // Batch that is currently being filled. Null if nothing has been queued since last flush.
+    private @Nullable Batch current;
+
+    public Outbox(final @NotNull Logger logger) {
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Dialogs Sender");
+            // Sender thread should not prevent the server from shutting down.
+            thread.setDaemon(true);
+            // ...
+            return thread;
+        });
+    }
+
+    /**
+     * Queues specified message to be sent to specified audience as a chat message. Specified event, if any, is committed once message is delivered.
+     */
+    public void chat(final @NotNull Message.ComponentMessage message, final @NotNull Audience audience, final @Nullable Event event) {
+        this.batch().add(message, audience, false, event);
+    }
+
+    /**
+     * Queues specified message to be sent to specified audience as an action bar. Specified event, if any, is committed once message is delivered.
+     */
+    public void actionBar(final @NotNull Message.ComponentMessage message, final @NotNull Audience audience, final @Nullable Event event) {
+        this.batch().add(message, audience, true, event);
+    }
+
+    /**
+     * Hands over all messages queued since last flush to the sender thread. Messages are delivered on the calling thread in case sender thread has already been shut down.
+     */
+    public void flush() {
+        final @Nullable Batch batch = this.current;
+        // Returning in case nothing has been queued.
+        if (batch == null)
+            return;
+        // ...
+        this.current = null;
+        // Handing over the batch to the sender thread.
+        try {
+            executor.execute(batch);
+        } catch (final RejectedExecutionException ___) {
+            batch.run();
+        }
+    }
+
+    /**
+     * Flushes remaining messages and stops the sender thread once all of them are delivered.
+     */
+    public void shutdown() {
+        this.flush();
+        // ...
+        executor.shutdown();
+    }
+
+    // Returns batch that is currently being filled, taking one from the pool (or creating a new one) if needed.
+    private @NotNull Batch batch() {
+        if (current == null) {
+            final @Nullable Batch pooled = pool.poll();
+            // ...
+            current = (pooled != null) ? pooled : new Batch();
+        }
+        return current;
+    }
+
+    // Array-based list of messages to be delivered. Arrays grow as needed and are re-used along with the batch.
+    private final class Batch implements Runnable {
+
+        private Message.ComponentMessage[] messages = new Message.ComponentMessage[64];
+        private Audience[] audiences = new Audience[64];
+        private boolean[] isActionBar = new boolean[64];
+        private Event[] events = new Event[64];
+
+        private int size = 0;
+
+        void add(final @NotNull Message.ComponentMessage message, final @NotNull Audience audience, final boolean isActionBar, final @Nullable Event event) {
+            // Growing arrays in case they are full.
+            if (size == messages.length) {
+                this.messages = Arrays.copyOf(messages, size * 2);
+                this.audiences = Arrays.copyOf(audiences, size * 2);
+                this.isActionBar = Arrays.copyOf(this.isActionBar, size * 2);
+                this.events = Arrays.copyOf(events, size * 2);
+            }
+            // ...
+            this.messages[size] = message;
+            this.audiences[size] = audience;
+            this.isActionBar[size] = isActionBar;
+            this.events[size] = event;
+            // ...
+            size++;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < size; i++) {
+                    // Restarting the event, so it measures the delivery and not the time spent waiting in the batch.
+                    if (events[i] != null)
+                        events[i].begin();
+                    // Another try...catch block is used here to make sure exception will interrupt delivery of current message only, not all of them.
+                    try {
+                        if (isActionBar[i] == true)
+                            messages[i].sendActionBar(audiences[i]);
+                        else messages[i].send(audiences[i]);
+                    } catch (final RuntimeException e) {
+                        logger.log(Level.SEVERE, "An error occurred while sending dialog message.", e);
+                    } finally {
+                        if (events[i] != null)
+                            events[i].commit();
+                    }
+                }
+            } finally {
+                // Releasing references, so players and components can be garbage collected.
+                Arrays.fill(messages, 0, size, null);
+                Arrays.fill(audiences, 0, size, null);
+                Arrays.fill(events, 0, size, null);
+                // ...
+                size = 0;
+                // Returning the batch to the pool.
+                pool.add(this);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import cloud.grabsky.bedrock.components.Message;
+import net.kyori.adventure.text.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Per-tick cache of payloads prepared for sending, keyed by identity. When the same message is sent to many recipients
+ * within a single tick, it is prepared just once and the exact same instance is handed to each recipient.
+ * <p>
+ * Cache is not thread-safe, and is expected to be accessed and cleared from the main thread only.
+ */
+@Internal
+public final class PayloadCache {
+
+    // Messages prepared during current tick, keyed by component they wrap.
+    private final Map<Component, Message.ComponentMessage> messages = new IdentityHashMap<>();
+
+    /**
+     * Returns {@link Message} wrapping specified {@link Component}, creating it in case it has not been requested during current tick.
+     */
+    public @NotNull Message.ComponentMessage message(final @NotNull Component component) {
+        return messages.computeIfAbsent(component, Message::of);
+    }
+
+    /**
+     * Forgets everything prepared during current tick.
+     */
+    public void clear() {
+        messages.clear();
+    }
+
+}
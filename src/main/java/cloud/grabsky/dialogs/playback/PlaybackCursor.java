@@ -0,0 +1,172 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import cloud.grabsky.dialogs.Dialog;
+import cloud.grabsky.dialogs.elements.AnimationFrames;
+import org.bukkit.entity.Player;
+
+import java.util.BitSet;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents playback state of a single triggered dialog. Cursor is scheduled on the {@link TimingWheel} and advanced by the {@link PlaybackEngine} tick loop.
+ * <p>
+ * Server-wide animations are played by shared cursors, which do not belong to any player or session and play just a single element.
+ */
+@Internal
+public final class PlaybackCursor extends TimingWheel.Node {
+
+    /**
+     * Compiled form of the dialog being played.
+     */
+    final @NotNull Dialog.Timeline timeline;
+
+    /**
+     * Player this dialog has been triggered for. Null for shared cursors.
+     */
+    final @Nullable Player target;
+
+    /**
+     * Session of the target. Used to determine whether another dialog has been started in the meanwhile. Null for shared cursors.
+     */
+    final @Nullable PlaybackSession session;
+
+    /**
+     * Session token assigned to this dialog.
+     */
+    final long token;
+
+    /**
+     * Whether conditions should be evaluated right before executing each element, instead of at the time of triggering.
+     */
+    final boolean isDeferred;
+
+    /**
+     * Indexes of elements which conditions were not met at the time of triggering. Null when no element should be skipped.
+     * Populated on the main thread, when cursor is picked up by the tick loop.
+     */
+    @Nullable BitSet skipped = null;
+
+    /**
+     * Index of the element that is currently being played.
+     */
+    int index;
+
+    /**
+     * Index of the element at which this cursor stops playing (exclusive).
+     */
+    final int end;
+
+    /**
+     * Index of the next animation frame to be displayed. Used by animated elements only.
+     */
+    int frame = 0;
+
+    /**
+     * Frames of currently played animated element. Fetched once, when first frame is displayed, and used until the element ends. Null for other elements.
+     */
+    @Nullable AnimationFrames frames = null;
+
+    /**
+     * Tick at which currently played element has started.
+     */
+    long startTick = -1;
+
+    /**
+     * Time (as returned by {@link System#nanoTime()}) at which first frame of currently played animated element has been displayed. Used by animated elements only.
+     */
+    long startNanos = 0L;
+
+    /**
+     * Number of ticks by which schedule of currently played animated element has been moved forward, after skipping frames to catch up with real time.
+     */
+    long ticksCaughtUp = 0L;
+
+    /**
+     * Tick at which this cursor should be advanced next.
+     */
+    long nextTick = -1;
+
+    /**
+     * Time (as returned by {@link System#nanoTime()}) at which this cursor has been scheduled on the wheel. Used to measure scheduling lag.
+     */
+    long scheduledAt = 0L;
+
+    /**
+     * Number of ticks this cursor has been scheduled ahead, at the time of scheduling.
+     */
+    long scheduledDelay = 0L;
+
+    public PlaybackCursor(final @NotNull Dialog.Timeline timeline, final @NotNull Player target, final @NotNull PlaybackSession session, final long token, final boolean isDeferred) {
+        this.timeline = timeline;
+        this.target = target;
+        this.session = session;
+        this.token = token;
+        this.isDeferred = isDeferred;
+        this.index = 0;
+        this.end = timeline.length();
+    }
+
+    /**
+     * Creates a shared cursor, which plays only element at specified index of specified timeline.
+     */
+    public PlaybackCursor(final @NotNull Dialog.Timeline timeline, final int index) {
+        this.timeline = timeline;
+        this.target = null;
+        this.session = null;
+        this.token = 0L;
+        this.isDeferred = false;
+        this.index = index;
+        this.end = index + 1;
+    }
+
+    /**
+     * Returns {@code true} if this is a shared cursor, which does not belong to any player.
+     */
+    boolean isShared() {
+        return session == null;
+    }
+
+    /**
+     * Returns {@code false} in case player has disconnected OR other dialog has been started in the meanwhile. Shared cursors are always valid.
+     */
+    boolean isValid() {
+        return session == null || session.isCurrent(token);
+    }
+
+    /**
+     * Returns {@code true} if element at specified index should be skipped.
+     */
+    boolean isSkipped(final int index) {
+        return skipped != null && skipped.get(index) == true;
+    }
+
+    /**
+     * Moves this cursor onto the next element, which is expected to start at specified tick.
+     */
+    void next(final long tick) {
+        this.index++;
+        this.frame = 0;
+        this.frames = null;
+        this.ticksCaughtUp = 0L;
+        this.startTick = tick;
+        this.nextTick = tick;
+    }
+
+}
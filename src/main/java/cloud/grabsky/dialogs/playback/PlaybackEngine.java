@@ -0,0 +1,531 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import cloud.grabsky.bedrock.components.Message;
+import cloud.grabsky.dialogs.Condition;
+import cloud.grabsky.dialogs.Dialog;
+import cloud.grabsky.dialogs.DialogElement;
+import cloud.grabsky.dialogs.Dialogs;
+import cloud.grabsky.dialogs.elements.AnimatedActionBarElement;
+import cloud.grabsky.dialogs.elements.AnimationFrames;
+import cloud.grabsky.dialogs.elements.CommandElement;
+import cloud.grabsky.dialogs.elements.MessageElement;
+import cloud.grabsky.dialogs.elements.SoundElement;
+import cloud.grabsky.dialogs.metrics.DialogsEvents;
+import cloud.grabsky.dialogs.metrics.DialogsMetrics;
+import cloud.grabsky.dialogs.placeholder.PlaceholderMemo;
+import cloud.grabsky.dialogs.placeholder.PlaceholderResolver;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.sound.Sound;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Plays triggered dialogs using a single, plugin-wide tick loop. Each playing dialog is represented by a lightweight
+ * {@link PlaybackCursor}, which means number of scheduled tasks does not depend on number or length of playing dialogs.
+ */
+public final class PlaybackEngine {
+
+    private final @NotNull Dialogs plugin;
+
+    private final @NotNull DialogsMetrics metrics;
+
+    // Sessions of players that have triggered a dialog at least once. Sessions are removed when player leaves the server.
+    private final SessionRegistry sessions = new SessionRegistry();
+
+    // Cursors waiting to be picked up by the tick loop. Dialogs can be triggered from any thread, hence the concurrent queue.
+    private final Queue<PlaybackCursor> pending = new ConcurrentLinkedQueue<>();
+
+    // Shared cursors of server-wide animations that are currently being played, keyed by the element. Accessed from the main thread only.
+    private final Map<AnimatedActionBarElement, PlaybackCursor> broadcasts = new IdentityHashMap<>();
+
+    // Placeholders resolved during current tick. Shared between all elements executed within the same tick.
+    private final PlaceholderMemo placeholders;
+
+    // Frames and messages prepared during current tick. Shared between all recipients of the same content.
+    private final PayloadCache payloads = new PayloadCache();
+
+    // Messages prepared during current tick. Delivered by a separate thread, after the tick.
+    private final Outbox outbox;
+
+    // Recipients of server-wide messages. Captured once per tick, when needed for the first time, so the list can be safely iterated by the sender thread.
+    private @Nullable Audience serverAudience;
+
+    // Sounds due within current tick. Played all at once, at the end of the tick.
+    private final SoundBatch sounds = new SoundBatch();
+
+    // Commands waiting to be dispatched. Commands are dispatched within per-tick budget, leftovers are carried over to the next tick.
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull CommandQueue commandQueue;
+
+    // Cursors that are currently being played, keyed by the tick they should be advanced at. Accessed from the main thread only.
+    private final TimingWheel<PlaybackCursor> wheel = new TimingWheel<>(1L);
+
+    // Duration of a single tick, at 20 ticks per second.
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long HALF_TICK_NANOS = TICK_NANOS / 2;
+
+    /**
+     * Number of ticks that have passed since the tick loop has been started.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private long currentTick = 0;
+
+    private @Nullable BukkitTask task;
+
+    public PlaybackEngine(final @NotNull Dialogs plugin) {
+        this.plugin = plugin;
+        this.metrics = plugin.getMetrics();
+        // Placeholders which are not memoized yet are resolved through the plugin-wide cache.
+        this.placeholders = new PlaceholderMemo(plugin.getPlaceholderCache());
+        // ...
+        this.commandQueue = new CommandQueue(plugin.getServer(), plugin.getLogger(), metrics);
+        this.outbox = new Outbox(plugin.getLogger());
+    }
+
+    /**
+     * Starts the tick loop. Does nothing if the tick loop is already running.
+     */
+    public void start() {
+        if (task != null)
+            return;
+        // Scheduling a new repeat task that is responsible for advancing all active cursors.
+        this.task = plugin.getBedrockScheduler().repeat(1L, 1L, Long.MAX_VALUE, (iteration) -> {
+            this.tick();
+            // Continuing... Should be cancelled only when the plugin is disabled.
+            return true;
+        });
+    }
+
+    /**
+     * Stops the tick loop and discards all playing dialogs. Commands that are already queued are dispatched right away.
+     */
+    public void stop() {
+        if (task != null)
+            task.cancel();
+        // ...
+        this.task = null;
+        this.commandQueue.flush(currentTick);
+        this.sounds.clear();
+        this.outbox.shutdown();
+        this.pending.clear();
+        this.wheel.clear();
+        this.broadcasts.clear();
+        this.sessions.clear();
+    }
+
+    /**
+     * Returns number of dialogs that are currently being played.
+     */
+    public int getActiveCount() {
+        return wheel.getSize() + pending.size();
+    }
+
+    /**
+     * Starts playing specified {@link Dialog} for specified {@link Player}. Any dialog that is already being played for that player is going to be cancelled.
+     */
+    public void play(final @NotNull Dialog dialog, final @NotNull Player target) {
+        final @Nullable PlaybackCursor cursor = this.prepare(dialog.timeline(), dialog.getConditionEvaluation() == Dialog.ConditionEvaluation.ON_EXECUTION, target);
+        // Queuing the cursor. It will be picked up by the tick loop on the next tick.
+        if (cursor != null) {
+            pending.add(cursor);
+            metrics.recordTriggers(cursor.timeline.identifier(), 1);
+            // ...
+            final @Nullable DialogsEvents.DialogTriggered event = DialogsEvents.triggered(cursor.timeline.identifier(), 1);
+            // ...
+            if (event != null)
+                event.commit();
+        }
+    }
+
+    /**
+     * Starts playing specified {@link Dialog} for each of specified {@link Player Players}. Any dialog that is already being played for any of these players is going to be cancelled.
+     * <p>
+     * Timeline is shared between all recipients and only per-player state, such as conditions, is evaluated individually.
+     */
+    public void play(final @NotNull Dialog dialog, final @NotNull Collection<? extends Player> targets) {
+        // Getting compiled form of the dialog. It's shared between all recipients.
+        final Dialog.Timeline timeline = dialog.timeline();
+        // ...
+        final boolean isDeferred = (dialog.getConditionEvaluation() == Dialog.ConditionEvaluation.ON_EXECUTION);
+        // Preparing cursors of all recipients.
+        final List<PlaybackCursor> cursors = new ArrayList<>(targets.size());
+        // ...
+        for (final Player target : targets) {
+            final @Nullable PlaybackCursor cursor = this.prepare(timeline, isDeferred, target);
+            // ...
+            if (cursor != null)
+                cursors.add(cursor);
+        }
+        // Queuing all cursors at once. They will be picked up by the tick loop on the next tick.
+        pending.addAll(cursors);
+        // ...
+        metrics.recordTriggers(timeline.identifier(), cursors.size());
+        // ...
+        final @Nullable DialogsEvents.DialogTriggered event = DialogsEvents.triggered(timeline.identifier(), cursors.size());
+        // ...
+        if (event != null)
+            event.commit();
+    }
+
+    // Creates cursor playing specified timeline for specified player. Returns null if player has already left the server.
+    private @Nullable PlaybackCursor prepare(final @NotNull Dialog.Timeline timeline, final boolean isDeferred, final @NotNull Player target) {
+        // Skipping players that have already left the server. Otherwise, their session would never be cleaned up.
+        if (target.isConnected() == false)
+            return null;
+        // Getting session of the target.
+        final PlaybackSession session = sessions.acquire(target.getUniqueId());
+        // Assigning new token to the session. This invalidates dialog that is currently being played, if any.
+        final long token = session.next();
+        // Creating the cursor. Conditions are evaluated later, on the main thread, when cursor is picked up by the tick loop.
+        return new PlaybackCursor(timeline, target, session, token, isDeferred);
+    }
+
+    // Marks elements of specified cursor which conditions are not met. These are going to be skipped during playback. Must be called from the main thread.
+    private void evaluate(final @NotNull PlaybackCursor cursor) {
+        @Nullable BitSet skipped = null;
+        // Iterating over all elements in this Dialog and testing their conditions. Placeholders are shared with all other cursors picked up within the same tick.
+        for (int i = 0; i < cursor.timeline.length(); i++) {
+            if (this.test(cursor.timeline, i, cursor.target, placeholders) == false) {
+                if (skipped == null)
+                    skipped = new BitSet(cursor.timeline.length());
+                skipped.set(i);
+            }
+        }
+        // ...
+        cursor.skipped = skipped;
+    }
+
+    /**
+     * Advances all cursors that are due at current tick. Called once per tick from the main thread.
+     */
+    private void tick() {
+        currentTick++;
+        // Forgetting placeholders resolved during previous tick.
+        placeholders.clear();
+        // Forgetting payloads prepared during previous tick.
+        payloads.clear();
+        // Forgetting recipients of server-wide messages captured during previous tick.
+        serverAudience = null;
+        // Advancing cursors that are due at current tick. Only the due bucket of the wheel is touched.
+        wheel.advance(this::fire);
+        // Picking up cursors of newly triggered dialogs. These start playing immediately.
+        PlaybackCursor cursor;
+        while ((cursor = pending.poll()) != null) {
+            // Skipping cursors that have been invalidated before they were picked up.
+            if (cursor.isValid() == false)
+                continue;
+            // Skipping cursors of players that have left the server after triggering the dialog. Their session is released, unless it has been replaced in the meanwhile.
+            if (cursor.target.isConnected() == false) {
+                if (sessions.remove(cursor.target.getUniqueId(), cursor.session) == true && cursor.session.cursor != null) {
+                    wheel.cancel(cursor.session.cursor);
+                    cursor.session.cursor = null;
+                }
+                continue;
+            }
+            // Cancelling previous dialog of this session. It would be discarded on its next advance anyway, but this releases it right away.
+            if (cursor.session.cursor != null)
+                wheel.cancel(cursor.session.cursor);
+            // ...
+            cursor.session.cursor = cursor;
+            // Evaluating conditions of all elements, unless these are evaluated on execution.
+            if (cursor.isDeferred == false)
+                this.evaluate(cursor);
+            // ...
+            cursor.startTick = currentTick;
+            cursor.nextTick = currentTick;
+            // ...
+            this.advanceAndReschedule(cursor);
+        }
+        // Handing over messages prepared during this tick to the sender thread.
+        outbox.flush();
+        // Playing sounds collected during this tick. Duplicates are played just once.
+        sounds.flush(plugin.getServer());
+        // Dispatching commands queued during this (and previous) ticks, within the budget.
+        commandQueue.drain(currentTick);
+    }
+
+    // Called for each cursor that is due at current tick. Records scheduling lag before advancing the cursor.
+    private void fire(final @NotNull PlaybackCursor cursor) {
+        // Calculating number of ticks of real time (50ms each) that have passed since the cursor was scheduled, and comparing it with planned delay.
+        final long elapsedTicks = (System.nanoTime() - cursor.scheduledAt + HALF_TICK_NANOS) / TICK_NANOS;
+        // ...
+        metrics.getSchedulingLag().record(elapsedTicks - cursor.scheduledDelay);
+        // ...
+        this.advanceAndReschedule(cursor);
+    }
+
+    // Advances specified cursor and schedules it again, unless it has finished playing.
+    private void advanceAndReschedule(final @NotNull PlaybackCursor cursor) {
+        if (this.advance(cursor) == true) {
+            cursor.scheduledAt = System.nanoTime();
+            cursor.scheduledDelay = cursor.nextTick - currentTick;
+            // ...
+            wheel.schedule(cursor, cursor.nextTick);
+            return;
+        }
+        // Releasing shared cursor, so the animation can be started again.
+        if (cursor.isShared() == true) {
+            broadcasts.remove(cursor.timeline.elements()[cursor.end - 1], cursor);
+            return;
+        }
+        // Releasing the cursor in case it's still referenced by the session.
+        if (cursor.session.cursor == cursor)
+            cursor.session.cursor = null;
+    }
+
+    /**
+     * Stops dialog that is currently being played for specified player and removes their session. Must be called from the main thread.
+     */
+    public void invalidate(final @NotNull UUID uniqueId) {
+        final @Nullable PlaybackSession session = sessions.remove(uniqueId);
+        // Cancelling the cursor, if any.
+        if (session != null && session.cursor != null) {
+            wheel.cancel(session.cursor);
+            session.cursor = null;
+        }
+    }
+
+    /**
+     * Executes all elements of specified cursor that are due at current tick. Returns {@code false} if cursor has finished playing.
+     */
+    private boolean advance(final @NotNull PlaybackCursor cursor) {
+        try {
+            while (cursor.nextTick <= currentTick) {
+                // Finishing in case there are no more elements to play.
+                if (cursor.index >= cursor.end)
+                    return false;
+                // Finishing in case Player has disconnected OR other dialog has been started in the meanwhile.
+                if (cursor.isValid() == false)
+                    return false;
+                // Getting the current element.
+                final DialogElement element = cursor.timeline.elements()[cursor.index];
+                // Skipping execution of the element in case any of the conditions was (or is, when evaluated on execution) not met. Animated elements are tested before displaying first frame only.
+                if (cursor.isSkipped(cursor.index) == true || (cursor.isDeferred == true && cursor.frame == 0 && this.test(cursor.timeline, cursor.index, cursor.target, placeholders) == false)) {
+                    metrics.recordSkipped();
+                    // ...
+                    cursor.next(cursor.startTick + element.ticksToWait());
+                    continue;
+                }
+                // Animated elements are played over multiple ticks.
+                if (element instanceof AnimatedActionBarElement animatedActionBar) {
+                    // Handing over server-wide animations to a shared cursor, so they are not bound to the session of the player who triggered them. Player waits as if the animation was played by their cursor.
+                    if (cursor.isShared() == false && animatedActionBar.audience() == AnimatedActionBarElement.AudienceType.SERVER) {
+                        this.broadcast(cursor.timeline, cursor.index, animatedActionBar);
+                        // ...
+                        cursor.next(cursor.startTick + element.ticksToWait() + animatedActionBar.refreshRate());
+                        continue;
+                    }
+                    // Number of frames to be displayed. Additional iterations may happen when animation is locked on the last frame.
+                    final long iterations = element.ticksToWait() / animatedActionBar.refreshRate();
+                    // Animated elements are counted once, when first frame is displayed. Time of displaying the first frame is what frames are timed against.
+                    if (cursor.frame == 0) {
+                        metrics.recordElement(element);
+                        // Fetching frames just once, so the same frames are displayed until the element ends, even if they are evicted from the cache in the meanwhile.
+                        cursor.frames = animatedActionBar.frames();
+                        cursor.startNanos = System.nanoTime();
+                    }
+                    // Skipping frames in case server has fallen behind real time.
+                    else this.catchUp(cursor, animatedActionBar, iterations);
+                    // Displaying the current frame.
+                    this.sendFrame(cursor, animatedActionBar);
+                    // Scheduling next frame or moving onto the next element. Additionally, refresh rate value is added as to prevent elements from overlapping. Ticks caught up by skipping frames are subtracted.
+                    if (++cursor.frame < iterations)
+                        cursor.nextTick = cursor.startTick + cursor.frame * animatedActionBar.refreshRate() - cursor.ticksCaughtUp;
+                    else cursor.next(cursor.startTick + element.ticksToWait() + animatedActionBar.refreshRate() - cursor.ticksCaughtUp);
+                    continue;
+                }
+                // Queuing commands. Command elements are recorded by the queue, once their commands are actually dispatched.
+                if (element instanceof CommandElement commandElement)
+                    this.dispatchCommands(cursor, commandElement);
+                // Executing other elements.
+                else {
+                    metrics.recordElement(element);
+                    // ...
+                    final @Nullable DialogsEvents.ElementExecuted event = DialogsEvents.elementExecuted(cursor.timeline.identifier(), element);
+                    // Messages are delivered by the sender thread, which is also where the event is committed.
+                    if (element instanceof MessageElement messageElement)
+                        this.sendMessage(cursor, messageElement, event);
+                    else if (element instanceof SoundElement soundElement) {
+                        this.playSounds(cursor, soundElement);
+                        // ...
+                        if (event != null)
+                            event.commit();
+                    }
+                }
+                // Calculating "start" time of the next element.
+                cursor.next(cursor.startTick + element.ticksToWait());
+            }
+            // Continuing in case cursor has more elements to play. Otherwise, cursor is released right away instead of waiting for the last element to end.
+            return cursor.index < cursor.end;
+        } catch (final RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "An error occurred while playing dialog element " + cursor.index + " for " + ((cursor.isShared() == false) ? cursor.target.getName() : "the whole server") + ". Dialog has been cancelled.", e);
+            return false;
+        }
+    }
+
+    // Starts playing specified server-wide animation on a shared cursor. Does nothing if the animation is already being played, which is the case when the same dialog is triggered for multiple players.
+    private void broadcast(final @NotNull Dialog.Timeline timeline, final int index, final @NotNull AnimatedActionBarElement animatedActionBar) {
+        if (broadcasts.containsKey(animatedActionBar) == true)
+            return;
+        // Creating shared cursor, which starts playing right away.
+        final PlaybackCursor cursor = new PlaybackCursor(timeline, index);
+        // ...
+        broadcasts.put(animatedActionBar, cursor);
+        // ...
+        cursor.startTick = currentTick;
+        cursor.nextTick = currentTick;
+        // ...
+        this.advanceAndReschedule(cursor);
+    }
+
+    // Moves cursor of an animated element onto the frame it should display according to real time that has passed since the first frame. Last frame is never skipped.
+    private void catchUp(final @NotNull PlaybackCursor cursor, final @NotNull AnimatedActionBarElement animatedActionBar, final long iterations) {
+        // Calculating frame that should be displayed right now, based on real time. Frames are expected to be displayed every refresh rate ticks, 50ms each.
+        long expected = (System.nanoTime() - cursor.startNanos) / (animatedActionBar.refreshRate() * TICK_NANOS);
+        // Returning in case animation is on schedule. This is always the case when server is running at full speed.
+        if (expected <= cursor.frame)
+            return;
+        // Number of (distinct) frames of the animation.
+        final int frames = cursor.frames.size();
+        // Making sure the last frame is always displayed, and that the animation does not run past it's last iteration.
+        if (cursor.frame < frames)
+            expected = Math.min(expected, frames - 1);
+        // ...
+        expected = Math.min(expected, iterations - 1);
+        // Returning in case there is nothing to skip.
+        if (expected <= cursor.frame)
+            return;
+        // Reporting number of distinct frames skipped. Repeated displays of the last (locked) frame are not counted.
+        if (cursor.frame < frames - 1)
+            metrics.recordSkippedFrames((int) (Math.min(expected, frames - 1) - cursor.frame));
+        // Moving the schedule forward by the number of ticks that have been skipped.
+        cursor.ticksCaughtUp += (expected - cursor.frame) * animatedActionBar.refreshRate();
+        cursor.frame = (int) expected;
+    }
+
+    // Returns true if all conditions of element at specified index are met. Same as Condition#testAll, but also records number of evaluated conditions.
+    private boolean test(final @NotNull Dialog.Timeline timeline, final int index, final @NotNull Player target, final @NotNull PlaceholderResolver resolver) {
+        final Condition[] conditions = timeline.conditions()[index];
+        // Skipping elements with no conditions. These are always met and there is nothing to record.
+        if (conditions.length == 0)
+            return true;
+        // ...
+        final @Nullable DialogsEvents.ConditionEvaluated event = DialogsEvents.conditionEvaluated(timeline.identifier());
+        // Number of conditions that have been evaluated. Evaluation stops at the first condition that is not met.
+        int evaluated = 0;
+        boolean isPassed = true;
+        // ...
+        while (isPassed == true && evaluated < conditions.length)
+            isPassed = conditions[evaluated++].testCondition(target, resolver);
+        // ...
+        metrics.recordConditions(evaluated);
+        // ...
+        if (event != null) {
+            event.conditions = evaluated;
+            event.passed = isPassed;
+            event.commit();
+        }
+        // ...
+        return isPassed;
+    }
+
+    private void sendFrame(final @NotNull PlaybackCursor cursor, final @NotNull AnimatedActionBarElement animatedActionBar) {
+        final AnimationFrames frames = cursor.frames;
+        // Getting the actual audience. Server-wide animations are pushed to all online players in a single pass.
+        final Audience audience = (animatedActionBar.audience() == AnimatedActionBarElement.AudienceType.SERVER) ? this.serverAudience() : cursor.target;
+        // Getting index of the frame to display. Animation locked on the last frame keeps displaying it until next element starts.
+        final int index = (cursor.frame < frames.size())
+                ? cursor.frame
+                : (animatedActionBar.lockUntilNextElement() == true) ? frames.size() - 1 : -1;
+        // Currently only action bar messages can be "animated". Message of each frame is created once and re-used by all recipients and all subsequent plays.
+        if (index != -1) {
+            // Event is committed by the sender thread, once the frame is delivered.
+            outbox.actionBar(frames.message(index), audience, DialogsEvents.frameSent(cursor.timeline.identifier(), cursor.frame));
+        }
+        // Queuing the animation sound. Sound is played at the end of the tick, along with other sounds.
+        if (cursor.frame < frames.size() - 1 && animatedActionBar.hasTypingSound() == true) {
+            if (animatedActionBar.audience() == AnimatedActionBarElement.AudienceType.SERVER)
+                sounds.broadcast(animatedActionBar.typingSound());
+            else sounds.add(animatedActionBar.typingSound(), cursor.target);
+        }
+    }
+
+    private void sendMessage(final @NotNull PlaybackCursor cursor, final @NotNull MessageElement messageElement, final @Nullable DialogsEvents.ElementExecuted event) {
+        // Rendering pre-parsed message, setting placeholders if supported. Constant messages are rendered to the same component, which is then wrapped just once per tick.
+        final Message.ComponentMessage message = payloads.message(messageElement.template().render(cursor.target, placeholders));
+        // Getting the actual audience.
+        final Audience audience = switch (messageElement.audience()) {
+            case PLAYER -> cursor.target;
+            case CONSOLE -> plugin.getServer().getConsoleSender();
+            case SERVER -> this.serverAudience();
+        };
+        // Queuing message based in specific type. Message is delivered by the sender thread, after the tick.
+        switch (messageElement.type()) {
+            case CHAT_MESSAGE -> outbox.chat(message, audience, event);
+            case ACTIONBAR_MESSAGE -> outbox.actionBar(message, audience, event);
+        }
+    }
+
+    // Returns recipients of server-wide messages; all online players and the console. Captured once per tick, so it can be safely iterated off the main thread.
+    private @NotNull Audience serverAudience() {
+        if (serverAudience == null) {
+            final List<Audience> recipients = new ArrayList<>(plugin.getServer().getOnlinePlayers().size() + 1);
+            // ...
+            recipients.add(plugin.getServer().getConsoleSender());
+            recipients.addAll(plugin.getServer().getOnlinePlayers());
+            // ...
+            serverAudience = Audience.audience(recipients);
+        }
+        return serverAudience;
+    }
+
+    private void dispatchCommands(final @NotNull PlaybackCursor cursor, final @NotNull CommandElement commandElement) {
+        // Getting the command sender.
+        final CommandSender sender = (commandElement.type() == CommandElement.Type.PLAYER_COMMAND) ? cursor.target : plugin.getServer().getConsoleSender();
+        // Queuing commands, setting placeholders if supported. Commands are dispatched at the end of the tick, or later if the budget has been exhausted.
+        for (int i = 0; i < commandElement.value().size(); i++)
+            commandQueue.add(sender, placeholders.resolve(cursor.target, commandElement.value().get(i)), cursor.timeline.identifier(), commandElement, i == 0, currentTick);
+    }
+
+    private void playSounds(final @NotNull PlaybackCursor cursor, final @NotNull SoundElement soundElement) {
+        // Queuing sounds. These are played at the end of the tick, along with other sounds.
+        for (final Sound sound : soundElement.value())
+            if (soundElement.audience() == SoundElement.AudienceType.PLAYER)
+                sounds.add(sound, cursor.target);
+            else sounds.broadcast(sound);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Represents dialog session of a single player. Each triggered dialog is given a new token, which invalidates dialogs started before.
+ */
+@Internal
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class PlaybackSession {
+
+    // Source of tokens. Shared between all sessions, so tokens are never re-used.
+    private static final AtomicLong TOKENS = new AtomicLong();
+
+    // Token assigned to sessions that should not play any dialogs anymore.
+    private static final long INVALID_TOKEN = 0L;
+
+    /**
+     * Unique identifier of the player this session belongs to.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final @NotNull UUID owner;
+
+    /**
+     * Token of the most recently triggered dialog.
+     */
+    private volatile long token = INVALID_TOKEN;
+
+    /**
+     * Cursor of the most recently started dialog. Accessed from the main thread only.
+     */
+    @Nullable PlaybackCursor cursor;
+
+    /**
+     * Assigns and returns a new token, invalidating all dialogs started with previous ones.
+     */
+    long next() {
+        return this.token = TOKENS.incrementAndGet();
+    }
+
+    /**
+     * Returns {@code true} if specified token is the most recently assigned one.
+     */
+    boolean isCurrent(final long token) {
+        return this.token == token;
+    }
+
+    /**
+     * Invalidates this session. Dialogs started within this session are not going to be played anymore.
+     */
+    void invalidate() {
+        this.token = INVALID_TOKEN;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Concurrent registry of {@link PlaybackSession} instances, keyed by unique identifier of the player.
+ */
+@Internal
+public final class SessionRegistry {
+
+    private final Map<UUID, PlaybackSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns session of specified player, creating one if it does not exist yet.
+     */
+    public @NotNull PlaybackSession acquire(final @NotNull UUID uniqueId) {
+        return sessions.computeIfAbsent(uniqueId, PlaybackSession::new);
+    }
+
+    /**
+     * Returns session of specified player or {@code null} if it does not exist.
+     */
+    public @Nullable PlaybackSession get(final @NotNull UUID uniqueId) {
+        return sessions.get(uniqueId);
+    }
+
+    /**
+     * Removes and invalidates session of specified player. Returns removed session or {@code null} if it did not exist.
+     */
+    public @Nullable PlaybackSession remove(final @NotNull UUID uniqueId) {
+        final @Nullable PlaybackSession session = sessions.remove(uniqueId);
+        // Invalidating the session, so dialogs that are still queued are not going to be played.
+        if (session != null)
+            session.invalidate();
+        // ...
+        return session;
+    }
+
+    /**
+     * Removes and invalidates specified session of specified player. Does nothing if player has no session or it has been replaced already. Returns {@code true} if session has been removed.
+     */
+    public boolean remove(final @NotNull UUID uniqueId, final @NotNull PlaybackSession session) {
+        if (sessions.remove(uniqueId, session) == false)
+            return false;
+        // Invalidating the session, so dialogs that are still queued are not going to be played.
+        session.invalidate();
+        // ...
+        return true;
+    }
+
+    /**
+     * Returns number of registered sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Invalidates and removes all sessions.
+     */
+    public void clear() {
+        sessions.values().forEach(PlaybackSession::invalidate);
+        sessions.clear();
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.sound.Sound;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects sounds due within a single tick and plays them all at once. Identical sound-and-recipient pairs are played just once,
+ * and sounds played to the whole server are sent as a single broadcast, which also covers individual recipients of the same sound.
+ * <p>
+ * Pairs are stored in an open-addressing hash table backed by arrays, which are re-used between ticks. Queuing a sound does not allocate, unless the table has to grow.
+ * Recipients are compared by identity. Batch is not thread-safe and is expected to be accessed from the main thread only.
+ */
+@Internal
+public final class SoundBatch {
+
+    // Sounds of queued pairs, indexed by slot. Empty slots are null.
+    private Sound[] sounds = new Sound[64];
+
+    // Recipients of queued pairs, indexed by slot. Broadcasts have no recipient.
+    private Audience[] recipients = new Audience[64];
+
+    // Occupied slots, in order pairs were queued in. Table is grown before it gets more than half full.
+    private int[] order = new int[32];
+
+    // Number of queued pairs.
+    private int size = 0;
+
+    /**
+     * Queues specified sound to be played to specified recipient.
+     */
+    public void add(final @NotNull Sound sound, final @NotNull Audience recipient) {
+        this.insert(sound, recipient);
+    }
+
+    /**
+     * Queues specified sound to be played to the whole server.
+     */
+    public void broadcast(final @NotNull Sound sound) {
+        this.insert(sound, null);
+    }
+
+    /**
+     * Plays all queued sounds and clears the batch.
+     */
+    public void flush(final @NotNull Audience server) {
+        // Playing broadcasts first.
+        for (int i = 0; i < size; i++)
+            if (recipients[order[i]] == null)
+                server.playSound(sounds[order[i]]);
+        // Playing sounds to individual recipients. Sounds that have already been broadcast are skipped.
+        for (int i = 0; i < size; i++) {
+            final int slot = order[i];
+            // ...
+            if (recipients[slot] != null && this.find(sounds[slot], null) == -1)
+                recipients[slot].playSound(sounds[slot]);
+        }
+        // ...
+        this.clear();
+    }
+
+    /**
+     * Discards all queued sounds.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            sounds[order[i]] = null;
+            recipients[order[i]] = null;
+        }
+        size = 0;
+    }
+
+    // Queues specified pair, unless queued already.
+    private void insert(final @NotNull Sound sound, final @Nullable Audience recipient) {
+        // Growing the table in case it's about to get more than half full.
+        if (size == order.length)
+            this.grow();
+        // ...
+        final int mask = sounds.length - 1;
+        // Probing slots until either the same pair or an empty slot is found.
+        int slot = hash(sound, recipient) & mask;
+        // ...
+        while (sounds[slot] != null) {
+            if (recipients[slot] == recipient && sounds[slot].equals(sound) == true)
+                return;
+            slot = (slot + 1) & mask;
+        }
+        // Occupying the slot.
+        sounds[slot] = sound;
+        recipients[slot] = recipient;
+        order[size++] = slot;
+    }
+
+    // Returns slot of specified pair, or -1 if it has not been queued.
+    private int find(final @NotNull Sound sound, final @Nullable Audience recipient) {
+        final int mask = sounds.length - 1;
+        // ...
+        int slot = hash(sound, recipient) & mask;
+        // ...
+        while (sounds[slot] != null) {
+            if (recipients[slot] == recipient && sounds[slot].equals(sound) == true)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Doubles capacity of the table, re-inserting all queued pairs in the same order.
+    private void grow() {
+        final Sound[] sounds = this.sounds;
+        final Audience[] recipients = this.recipients;
+        final int[] order = this.order;
+        final int size = this.size;
+        // ...
+        this.sounds = new Sound[sounds.length * 2];
+        this.recipients = new Audience[recipients.length * 2];
+        this.order = new int[order.length * 2];
+        this.size = 0;
+        // ...
+        for (int i = 0; i < size; i++)
+            this.insert(sounds[order[i]], recipients[order[i]]);
+    }
+
+    private static int hash(final @NotNull Sound sound, final @Nullable Audience recipient) {
+        final int hash = sound.hashCode() * 31 + System.identityHashCode(recipient);
+        // Spreading higher bits, as only the lower ones are used to address slots.
+        return hash ^ (hash >>> 16);
+    }
+
+}
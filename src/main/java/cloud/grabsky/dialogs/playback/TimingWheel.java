@@ -0,0 +1,266 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Hierarchical timing wheel keyed by tick. Entries are intrusive {@link Node Nodes} stored in doubly-linked buckets, which makes
+ * both scheduling and cancelling {@code O(1)}. Each tick touches only the due bucket, and occasionally cascades entries from upper levels.
+ * <p>
+ * Wheel is not thread-safe and is expected to be accessed from a single thread.
+ */
+@Internal
+public final class TimingWheel<N extends TimingWheel.Node> {
+
+    // Number of bits used to address slots of a single level.
+    private static final int SLOT_BITS = 6;
+
+    // Number of slots in a single level.
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    // Number of levels. With 6 bits per level, wheel can hold entries up to 2^24 ticks (~9.7 days) ahead without re-cascading.
+    private static final int LEVELS = 4;
+
+    // Maximum distance (in ticks) that can be addressed by the wheel.
+    @VisibleForTesting
+    static final long MAX_DISTANCE = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    // Bucket sentinels; [level][slot].
+    private final Node[][] buckets = new Node[LEVELS][SLOTS];
+
+    // Sentinel of entries that are due at the tick being processed. Entries stay scheduled until they are fired, meaning they can still be cancelled.
+    private final Node due = new Node();
+
+    /**
+     * Next tick to be processed by {@link #advance(Consumer)}.
+     */
+    private long base;
+
+    /**
+     * Number of entries currently scheduled.
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private int size = 0;
+
+    public TimingWheel(final long firstTick) {
+        this.base = firstTick;
+        // Initializing bucket sentinels.
+        for (int level = 0; level < LEVELS; level++)
+            for (int slot = 0; slot < SLOTS; slot++)
+                buckets[level][slot] = new Node();
+    }
+
+    /**
+     * Returns the last tick that has been processed.
+     */
+    public long currentTick() {
+        return base - 1;
+    }
+
+    /**
+     * Schedules specified entry to be fired at specified tick. Deadlines that have already passed are fired on the next processed tick.
+     * Entry that is already scheduled is moved to the new deadline.
+     */
+    public void schedule(final @NotNull N node, final long deadline) {
+        if (node.isScheduled() == true)
+            this.cancel(node);
+        // ...
+        ((Node) node).deadline = Math.max(deadline, base);
+        // ...
+        this.insert(node);
+        size++;
+    }
+
+    /**
+     * Cancels specified entry. Does nothing if entry is not scheduled.
+     */
+    public void cancel(final @NotNull N node) {
+        if (node.isScheduled() == false)
+            return;
+        // ...
+        ((Node) node).unlink();
+        size--;
+    }
+
+    /**
+     * Processes next tick and invokes specified action for every entry that is due. Entries are unscheduled before being passed to the action, meaning they can be re-scheduled from within it.
+     */
+    @SuppressWarnings("unchecked")
+    public void advance(final @NotNull Consumer<N> action) {
+        final long tick = base;
+        // Cascading entries from upper levels, which happens each time lower level completes a full rotation.
+        for (int level = 1; level < LEVELS; level++) {
+            // Stopping in case lower level is still in the middle of a rotation.
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0)
+                break;
+            // Cascading the bucket. Entries are re-inserted relative to the current tick, ending up in lower levels.
+            this.cascade(buckets[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+        }
+        // Moving due entries to a separate list, so entries re-scheduled by the action never end up in the list being processed.
+        buckets[0][(int) tick & SLOT_MASK].moveTo(due);
+        // Moving onto the next tick before invoking the action, so re-scheduled entries are placed relative to it.
+        base = tick + 1;
+        // Invoking the action for each due entry. Entry is unlinked right before being fired, so cancelling it from within the action does nothing.
+        // Entries that are still waiting to be fired can be cancelled (or re-scheduled) as usual, in which case they are not fired during this tick.
+        @Nullable Node node;
+        // ...
+        while ((node = due.first()) != null) {
+            node.unlink();
+            size--;
+            // ...
+            action.accept((N) node);
+        }
+    }
+
+    /**
+     * Cancels all entries.
+     */
+    public void clear() {
+        for (final Node[] level : buckets)
+            for (final Node sentinel : level)
+                clear(sentinel);
+        // Cancelling entries that are waiting to be fired, in case wheel is cleared from within the action.
+        clear(due);
+        // ...
+        size = 0;
+    }
+
+    // Unlinks all entries of specified bucket.
+    private static void clear(final @NotNull Node sentinel) {
+        @Nullable Node node = sentinel.detach();
+        // ...
+        while (node != null) {
+            final Node next = node.next;
+            node.prev = null;
+            node.next = null;
+            node = next;
+        }
+    }
+
+    // Re-inserts all entries of specified bucket. Should only be called when the bucket is due to be cascaded.
+    private void cascade(final @NotNull Node sentinel) {
+        @Nullable Node node = sentinel.detach();
+        // Re-inserting each entry. Placement is re-calculated relative to the current tick.
+        while (node != null) {
+            final Node next = node.next;
+            node.prev = null;
+            node.next = null;
+            // ...
+            this.insert(node);
+            // ...
+            node = next;
+        }
+    }
+
+    // Places entry in the bucket matching it's deadline.
+    private void insert(final @NotNull Node node) {
+        // Entries scheduled beyond wheel capacity are placed in the farthest slot and re-inserted once it gets cascaded.
+        final long distance = Math.min(node.deadline - base, MAX_DISTANCE);
+        final long deadline = base + distance;
+        // Finding the lowest level that can hold specified distance.
+        int level = 0;
+        while (level < LEVELS - 1 && distance >= (1L << (SLOT_BITS * (level + 1))))
+            level++;
+        // Linking entry with the bucket.
+        buckets[level][(int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK].link(node);
+    }
+
+    /**
+     * Represents an entry that can be scheduled on the {@link TimingWheel}.
+     */
+    public static class Node {
+
+        // Tick at which this entry should be fired.
+        private long deadline;
+
+        // Neighbours in the bucket. Both are null when entry is not scheduled.
+        private @Nullable Node prev;
+        private @Nullable Node next;
+
+        /**
+         * Returns {@code true} if this entry is currently scheduled.
+         */
+        public final boolean isScheduled() {
+            return prev != null;
+        }
+
+        // Returns first entry of this (sentinel) bucket, or null if bucket is empty.
+        private @Nullable Node first() {
+            return (next == null || next == this) ? null : next;
+        }
+
+        // Moves all entries of this (sentinel) bucket to specified (sentinel) bucket, which is expected to be empty. Entries stay linked.
+        private void moveTo(final @NotNull Node target) {
+            if (next == null || next == this)
+                return;
+            // Linking the chain with specified sentinel.
+            target.next = next;
+            target.prev = prev;
+            next.prev = target;
+            prev.next = target;
+            // Resetting this sentinel.
+            next = this;
+            prev = this;
+        }
+
+        // Links specified entry right after this (sentinel) node.
+        private void link(final @NotNull Node node) {
+            // Initializing sentinel on first use. Sentinel of an empty bucket points to itself.
+            if (next == null) {
+                next = this;
+                prev = this;
+            }
+            node.prev = this;
+            node.next = next;
+            next.prev = node;
+            next = node;
+        }
+
+        // Unlinks this entry from the bucket it belongs to.
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        // Detaches all entries of this (sentinel) bucket and returns them as a null-terminated chain. Entries of the chain must be unlinked by the caller before anything else touches them.
+        private @Nullable Node detach() {
+            if (next == null || next == this)
+                return null;
+            // Terminating the chain.
+            final Node first = next;
+            prev.next = null;
+            // Resetting the sentinel.
+            next = this;
+            prev = this;
+            // ...
+            return first;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ComponentTemplateTest {
+
+    // Resolves placeholders used in the tests.
+    private static final PlaceholderResolver RESOLVER = (player, text) -> text
+            .replace("%color%", "red")
+            .replace("%player_name%", "Grabsky");
+
+    private static Component render(final String text) {
+        return ComponentTemplate.compile(text).render(null, RESOLVER);
+    }
+
+    @Test
+    public void testPlaceholderAsTagName() {
+        final Component component = render("<%color%>text");
+        // ...
+        assertEquals("text", PlainTextComponentSerializer.plainText().serialize(component));
+        assertEquals(NamedTextColor.RED, component.children().isEmpty() == true ? component.color() : component.children().get(0).color());
+    }
+
+    @Test
+    public void testPlaceholderAsTagArgument() {
+        final Component component = render("<color:%color%>text");
+        // ...
+        assertEquals("text", PlainTextComponentSerializer.plainText().serialize(component));
+        assertEquals(NamedTextColor.RED, component.children().isEmpty() == true ? component.color() : component.children().get(0).color());
+    }
+
+    @Test
+    public void testPlaceholderOutsideOfTags() {
+        // ...
+        assertEquals("Hello, Grabsky! 50% off.", PlainTextComponentSerializer.plainText().serialize(render("<red>Hello, %player_name%!</red> 50% off.")));
+        // Escaped tag characters and quoted tag arguments must not be mistaken for tags.
+        assertEquals("<b> Grabsky", PlainTextComponentSerializer.plainText().serialize(render("\\<b> %player_name%")));
+        assertEquals("> Grabsky", PlainTextComponentSerializer.plainText().serialize(render("<hover:show_text:'a>b'>></hover> %player_name%")));
+    }
+
+    @Test
+    public void testConstant() {
+        assertTrue(ComponentTemplate.compile("<red>Hello!").isConstant());
+        assertFalse(ComponentTemplate.compile("<red>Hello, %player_name%!").isConstant());
+        assertFalse(ComponentTemplate.compile("<%color%>Hello!").isConstant());
+    }
+
+}
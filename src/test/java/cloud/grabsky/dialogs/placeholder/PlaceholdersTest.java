@@ -0,0 +1,88 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.placeholder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class PlaceholdersTest {
+
+    // Identifiers of expansions known to the resolver. Placeholders of other expansions are left as-is, just like PlaceholderAPI does.
+    private static final Set<String> EXPANSIONS = Set.of("player", "vault", "online");
+
+    // Resolves placeholders of known expansions to their name in upper case, and records all requests.
+    private static String replace(final String text, final List<String> requests) {
+        return Placeholders.replace(null, text, (player, placeholder) -> {
+            requests.add(placeholder);
+            // ...
+            final String name = placeholder.substring(1, placeholder.length() - 1);
+            final String identifier = (name.indexOf('_') != -1) ? name.substring(0, name.indexOf('_')) : name;
+            // ...
+            return (EXPANSIONS.contains(identifier.toLowerCase()) == true) ? name.toUpperCase() : placeholder;
+        });
+    }
+
+    @Test
+    public void testLiteralPercent() {
+        final List<String> requests = new ArrayList<>();
+        // ...
+        assertEquals("Get 50% off, PLAYER_NAME", replace("Get 50% off, %player_name%", requests));
+        assertEquals(List.of("%player_name%"), requests);
+    }
+
+    @Test
+    public void testCandidateWithoutUnderscore() {
+        final List<String> requests = new ArrayList<>();
+        // Closed candidate without underscore is a placeholder with no parameters. Scanning continues after it's closing character.
+        assertEquals("50%%player_name%", replace("50%%player_name%", requests));
+        assertEquals("%abc%player_name%", replace("%abc%player_name%", requests));
+        assertEquals("ONLINE players", replace("%online% players", requests));
+        assertEquals(List.of("%%", "%abc%", "%online%"), requests);
+    }
+
+    @Test
+    public void testSpacesInParameters() {
+        final List<String> requests = new ArrayList<>();
+        // ...
+        assertEquals("[PLAYER_NAME, VAULT_ECO BALANCE]", replace("[%player_name%, %vault_eco balance%]", requests));
+        assertEquals(List.of("%player_name%", "%vault_eco balance%"), requests);
+    }
+
+    @Test
+    public void testUnresolvedCandidates() {
+        final List<String> requests = new ArrayList<>();
+        // Candidates which are closed are passed to the resolver, which leaves them as-is in case there is no matching expansion.
+        assertEquals("%%", replace("%%", requests));
+        assertEquals("%_name%", replace("%_name%", requests));
+        assertEquals("50%,70%", replace("50%,70%", requests));
+        assertEquals(List.of("%%", "%_name%", "%,70%"), requests);
+    }
+
+    @Test
+    public void testInvalidCandidates() {
+        final List<String> requests = new ArrayList<>();
+        // Candidates which are not closed, or contain a space before the first underscore, are never passed to the resolver.
+        assertEquals("100%", replace("100%", requests));
+        assertEquals("%player_name", replace("%player_name", requests));
+        assertEquals("50% or 70% off", replace("50% or 70% off", requests));
+        assertEquals(List.of(), requests);
+    }
+
+}
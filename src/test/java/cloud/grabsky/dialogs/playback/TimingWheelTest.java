@@ -0,0 +1,190 @@
+/*
+ * Dialogs (https://github.com/Grabsky/Dialogs)
+ *
+ * Copyright (C) 2024  Grabsky <michal.czopek.foss@proton.me>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License v3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License v3 for more details.
+ */
+package cloud.grabsky.dialogs.playback;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class TimingWheelTest {
+
+    private static final class Entry extends TimingWheel.Node {
+
+        private final String name;
+
+        Entry(final String name) {
+            this.name = name;
+        }
+
+    }
+
+    @Test
+    public void testCancelFiringEntry() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        final Entry first = new Entry("first");
+        final Entry second = new Entry("second");
+        // ...
+        wheel.schedule(first, 1L);
+        wheel.schedule(second, 1L);
+        // Cancelling entry from within the action must not affect other entries.
+        final List<String> fired = new ArrayList<>();
+        // ...
+        wheel.advance(entry -> {
+            assertFalse(entry.isScheduled());
+            // ...
+            wheel.cancel(entry);
+            fired.add(entry.name);
+        });
+        assertEquals(2, fired.size());
+        assertEquals(0, wheel.getSize());
+        // Wheel must stay usable afterwards.
+        wheel.schedule(first, 2L);
+        wheel.advance(entry -> fired.add(entry.name));
+        assertEquals(List.of(fired.get(0), fired.get(1), "first"), fired);
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void testCancelWaitingEntry() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        final Entry first = new Entry("first");
+        final Entry second = new Entry("second");
+        // ...
+        wheel.schedule(first, 1L);
+        wheel.schedule(second, 1L);
+        // Entry that is cancelled by another entry of the same tick must not be fired.
+        final List<String> fired = new ArrayList<>();
+        // ...
+        wheel.advance(entry -> {
+            fired.add(entry.name);
+            // ...
+            final Entry other = (entry == first) ? second : first;
+            // ...
+            assertTrue(other.isScheduled());
+            wheel.cancel(other);
+        });
+        assertEquals(1, fired.size());
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void testRescheduleFiringEntry() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        final Entry entry = new Entry("entry");
+        // ...
+        wheel.schedule(entry, 1L);
+        // Entry re-scheduled from within the action must be fired on the next tick, not the current one.
+        final List<Long> fired = new ArrayList<>();
+        // ...
+        for (int i = 0; i < 3; i++)
+            wheel.advance(it -> {
+                fired.add(wheel.currentTick());
+                wheel.schedule(it, wheel.currentTick());
+            });
+        assertEquals(List.of(1L, 2L, 3L), fired);
+        assertEquals(1, wheel.getSize());
+    }
+
+    @Test
+    public void testCascadingEntries() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        // Deadlines ending up in each of the levels, including both edges of each level.
+        final long[] deadlines = { 1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 262143L, 262144L, 262145L, 300000L };
+        // ...
+        final Map<Entry, Long> expected = new HashMap<>();
+        // ...
+        for (final long deadline : deadlines) {
+            final Entry entry = new Entry("entry@" + deadline);
+            // ...
+            wheel.schedule(entry, deadline);
+            expected.put(entry, deadline);
+        }
+        // Each entry must fire exactly once, on the tick it has been scheduled for.
+        assertEquals(expected, fire(wheel, 300000L));
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void testEntriesBeyondCapacity() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        final Entry last = new Entry("last");
+        final Entry beyond = new Entry("beyond");
+        // ...
+        wheel.schedule(last, 1L + TimingWheel.MAX_DISTANCE);
+        wheel.schedule(beyond, 1L + TimingWheel.MAX_DISTANCE + 1000L);
+        // Entry scheduled beyond wheel capacity must be re-inserted once it's slot gets cascaded, and fire on the exact tick.
+        assertEquals(Map.of(last, 1L + TimingWheel.MAX_DISTANCE, beyond, 1L + TimingWheel.MAX_DISTANCE + 1000L), fire(wheel, 1L + TimingWheel.MAX_DISTANCE + 1000L));
+        assertEquals(0, wheel.getSize());
+    }
+
+    @Test
+    public void testCancelCascadedWaitingEntry() {
+        final TimingWheel<Entry> wheel = new TimingWheel<>(1L);
+        final Entry first = new Entry("first");
+        final Entry second = new Entry("second");
+        final Entry third = new Entry("third");
+        // Entries are scheduled on an upper level and cascaded down to the due list on the same tick.
+        wheel.schedule(first, 4096L);
+        wheel.schedule(second, 4096L);
+        wheel.schedule(third, 4096L);
+        // Entry fired first cancels one of the waiting entries and re-schedules the other one.
+        final List<String> fired = new ArrayList<>();
+        final Map<String, Long> ticks = new HashMap<>();
+        // ...
+        while (wheel.currentTick() < 4100L)
+            wheel.advance(entry -> {
+                fired.add(entry.name);
+                ticks.put(entry.name, wheel.currentTick());
+                // ...
+                if (fired.size() == 1) {
+                    final List<Entry> others = new ArrayList<>(List.of(first, second, third));
+                    others.remove(entry);
+                    // ...
+                    assertTrue(others.get(0).isScheduled());
+                    assertTrue(others.get(1).isScheduled());
+                    // ...
+                    wheel.cancel(others.get(0));
+                    wheel.schedule(others.get(1), 4098L);
+                    // ...
+                    assertFalse(others.get(0).isScheduled());
+                    assertEquals(1, wheel.getSize());
+                }
+            });
+        // Cancelled entry must not fire, and re-scheduled entry must fire on it's new deadline only.
+        assertEquals(2, fired.size());
+        assertEquals(4096L, ticks.get(fired.get(0)));
+        assertEquals(4098L, ticks.get(fired.get(1)));
+        assertEquals(0, wheel.getSize());
+    }
+
+    // Advances specified wheel up to specified tick (inclusive), and returns tick at which each entry has been fired. Fails in case any entry fires twice.
+    private static Map<Entry, Long> fire(final TimingWheel<Entry> wheel, final long until) {
+        final Map<Entry, Long> fired = new HashMap<>();
+        // ...
+        while (wheel.currentTick() < until)
+            wheel.advance(entry -> assertNull(fired.put(entry, wheel.currentTick())));
+        // ...
+        return fired;
+    }
+
+}